@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.RecyclerPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free, bounded pool of Jackson {@link BufferRecycler}s, shared by the factories of a {@link MasonParser}.
+ * <p>
+ * Jackson's default pool keeps a recycler per thread, which gives no reuse when each parse runs on a
+ * new virtual thread. Here recyclers are kept in a fixed number of slots claimed with compare-and-set:
+ * parsers take any pooled recycler when they are created and give it back when they are closed, and
+ * recyclers released while all the slots are taken are left to the garbage collector.
+ */
+final class BufferRecyclerPool implements RecyclerPool<BufferRecycler> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Enough recyclers for all the parses that can run on carrier threads at once, and then some.
+     */
+    static final int DEFAULT_CAPACITY = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private final int capacity;
+    private final transient AtomicReferenceArray<BufferRecycler> slots;
+
+    BufferRecyclerPool(int capacity) {
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public BufferRecycler acquirePooled() {
+        // start at a random slot so that concurrent parses do not all compete for the first ones
+        int start = ThreadLocalRandom.current().nextInt(capacity);
+        for (int i = 0; i < capacity; i++) {
+            int index = (start + i) % capacity;
+            BufferRecycler recycler = slots.get(index);
+            if (recycler != null && slots.compareAndSet(index, recycler, null)) {
+                return recycler;
+            }
+        }
+        return new BufferRecycler();
+    }
+
+    @Override
+    public void releasePooled(BufferRecycler recycler) {
+        int start = ThreadLocalRandom.current().nextInt(capacity);
+        for (int i = 0; i < capacity; i++) {
+            int index = (start + i) % capacity;
+            if (slots.get(index) == null && slots.compareAndSet(index, null, recycler)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int pooledCount() {
+        int count = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (slots.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean clear() {
+        for (int i = 0; i < capacity; i++) {
+            slots.set(i, null);
+        }
+        return true;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private Object readResolve() {
+        return new BufferRecyclerPool(capacity);
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.apache.maven.api.services.Source;
+
+/**
+ * {@link Source} of a document held in memory, without any path. Its streams read the buffer in place,
+ * heap or direct, and support marks, so that a TOML document can be read again as a tree without copy.
+ */
+final class ByteSource implements Source {
+
+    private final ByteBuffer content;
+    private final String location;
+
+    ByteSource(ByteBuffer content, String location) {
+        this.content = content.slice();
+        this.location = location;
+    }
+
+    /**
+     * Returns a read-only view of the content.
+     */
+    ByteBuffer content() {
+        return content.asReadOnlyBuffer();
+    }
+
+    @Override
+    public Path getPath() {
+        return null;
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new BufferStream(content.duplicate());
+    }
+
+    @Override
+    public String getLocation() {
+        return location;
+    }
+
+    @Override
+    public Source resolve(String relative) {
+        return null;
+    }
+
+    static final class BufferStream extends InputStream {
+        private final ByteBuffer buffer;
+        private int mark;
+
+        BufferStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            mark = buffer.position();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.position(mark);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.xml.XmlNode;
+
+/**
+ * Reads the values of a model written by {@link CompactOutput}. Strings, sources, locations and
+ * configurations are shared as they were when written: equal strings and identical locations are read
+ * back as a single instance.
+ */
+final class CompactInput {
+
+    private final byte[] buffer;
+    private int position;
+    private final List<String> strings = new ArrayList<>();
+    private final List<InputSource> sources = new ArrayList<>();
+    private final List<InputLocation> locations = new ArrayList<>();
+    private final List<XmlNode> nodes = new ArrayList<>();
+
+    CompactInput(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    int readInt() throws IOException {
+        int value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    boolean readBoolean() throws IOException {
+        return readVarint() != 0;
+    }
+
+    String readString() throws IOException {
+        int code = readVarint();
+        if (code == 0) {
+            return null;
+        }
+        if ((code & 1) != 0) {
+            return reference(strings, code);
+        }
+        int length = (code >>> 1) - 1;
+        if (length < 0 || length > buffer.length - position) {
+            throw new IOException("Invalid string length " + length + " at offset " + position);
+        }
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        strings.add(value);
+        return value;
+    }
+
+    List<String> readStrings() throws IOException {
+        int count = readCount();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    Map<String, String> readProperties() throws IOException {
+        int count = readCount();
+        Map<String, String> properties = new LinkedHashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            properties.put(readString(), readString());
+        }
+        return properties;
+    }
+
+    /**
+     * Reads the locations of a model element, handing them to its builder.
+     */
+    void readLocations(BiConsumer<Object, InputLocation> builder) throws IOException {
+        int count = readCount();
+        for (int i = 0; i < count; i++) {
+            Object key = readKey();
+            builder.accept(key, readLocation());
+        }
+    }
+
+    InputLocation readLocation() throws IOException {
+        int code = readVarint();
+        if (code == 0) {
+            return null;
+        }
+        if ((code & 1) != 0) {
+            return reference(locations, code);
+        }
+        int index = locations.size();
+        locations.add(null);
+        int line = readInt();
+        int column = readInt();
+        InputSource source = readSource();
+        int count = readCount();
+        Object selfKey = null;
+        Map<Object, InputLocation> nested = count > 0 ? new LinkedHashMap<>(count * 4 / 3 + 1) : null;
+        for (int i = 0; i < count; i++) {
+            Object key = readKey();
+            int start = position;
+            if (readVarint() == 1 + 2 * index) {
+                selfKey = key;
+            } else {
+                position = start;
+                nested.put(key, readLocation());
+            }
+        }
+        InputLocation location = selfKey != null && nested.isEmpty()
+                ? new InputLocation(line, column, source, selfKey)
+                : new InputLocation(line, column, source, nested);
+        locations.set(index, location);
+        return location;
+    }
+
+    XmlNode readXmlNode() throws IOException {
+        int code = readVarint();
+        if (code == 0) {
+            return null;
+        }
+        if ((code & 1) != 0) {
+            return reference(nodes, code);
+        }
+        int index = nodes.size();
+        nodes.add(null);
+        String name = readString();
+        String value = readString();
+        Map<String, String> attributes = readProperties();
+        int count = readCount();
+        List<XmlNode> children = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            children.add(readXmlNode());
+        }
+        XmlNode node = XmlNode.newInstance(name, value, attributes, children, readLocation());
+        nodes.set(index, node);
+        return node;
+    }
+
+    private InputSource readSource() throws IOException {
+        int code = readVarint();
+        if (code == 0) {
+            return null;
+        }
+        if ((code & 1) != 0) {
+            return reference(sources, code);
+        }
+        int index = sources.size();
+        sources.add(null);
+        InputSource source = new InputSource(readString(), readString());
+        sources.set(index, source);
+        return source;
+    }
+
+    private Object readKey() throws IOException {
+        return readVarint() == 0 ? Integer.valueOf(readInt()) : readString();
+    }
+
+    private <T> T reference(List<T> values, int code) throws IOException {
+        int index = code >>> 1;
+        if (index >= values.size()) {
+            throw new IOException("Invalid reference " + index + " at offset " + position);
+        }
+        return values.get(index);
+    }
+
+    /**
+     * Reads the size of a collection, each element of which takes at least a byte.
+     */
+    private int readCount() throws IOException {
+        int count = readVarint();
+        if (count < 0 || count > buffer.length - position) {
+            throw new IOException("Invalid count " + count + " at offset " + position);
+        }
+        return count;
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position >= buffer.length) {
+                throw new IOException("Unexpected end of data");
+            }
+            byte b = buffer[position++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid integer at offset " + position);
+    }
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputLocationTracker;
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.xml.XmlNode;
+
+/**
+ * Writes the values of a model in the compact binary form read by {@link CompactInput}. Integers are
+ * written as variable length zigzag integers. Strings, sources, locations and configurations written
+ * several times are written once, then referenced by their index: an equal string, or the very same
+ * source, location or configuration instance. A reference is written as an odd integer, a new value as
+ * an even one, and {@code null} as zero.
+ */
+final class CompactOutput {
+
+    private byte[] buffer = new byte[4096];
+    private int size;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<InputSource, Integer> sources = new IdentityHashMap<>();
+    private final Map<InputLocation, Integer> locations = new IdentityHashMap<>();
+    private final Map<XmlNode, Integer> nodes = new IdentityHashMap<>();
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    void writeInt(int value) {
+        writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    void writeBoolean(boolean value) {
+        writeVarint(value ? 1 : 0);
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarint(0);
+        } else if (!reference(strings, value)) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(2 + 2 * bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+    }
+
+    void writeStrings(List<String> values) {
+        writeVarint(values.size());
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    void writeProperties(Map<String, String> properties) {
+        writeVarint(properties.size());
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            writeString(entry.getKey());
+            writeString(entry.getValue());
+        }
+    }
+
+    /**
+     * Writes the locations of a model element, given its location keys.
+     */
+    void writeLocations(InputLocationTracker tracker, Set<Object> keys) {
+        writeVarint(keys.size());
+        for (Object key : keys) {
+            writeKey(key);
+            writeLocation(tracker.getLocation(key));
+        }
+    }
+
+    void writeLocation(InputLocation location) {
+        if (location == null) {
+            writeVarint(0);
+        } else if (!reference(locations, location)) {
+            writeVarint(2);
+            writeInt(location.getLineNumber());
+            writeInt(location.getColumnNumber());
+            writeSource(location.getSource());
+            Map<Object, InputLocation> nested = location.getLocations();
+            writeVarint(nested.size());
+            for (Map.Entry<Object, InputLocation> entry : nested.entrySet()) {
+                writeKey(entry.getKey());
+                // already registered: a location nested in itself is written as a reference
+                writeLocation(entry.getValue());
+            }
+        }
+    }
+
+    void writeXmlNode(XmlNode node) {
+        if (node == null) {
+            writeVarint(0);
+        } else if (!reference(nodes, node)) {
+            writeVarint(2);
+            writeString(node.name());
+            writeString(node.value());
+            writeProperties(node.attributes());
+            List<XmlNode> children = node.children();
+            writeVarint(children.size());
+            for (XmlNode child : children) {
+                writeXmlNode(child);
+            }
+            writeLocation(node.inputLocation() instanceof InputLocation location ? location : null);
+        }
+    }
+
+    private void writeSource(InputSource source) {
+        if (source == null) {
+            writeVarint(0);
+        } else if (!reference(sources, source)) {
+            writeVarint(2);
+            writeString(source.getModelId());
+            writeString(source.getLocation());
+        }
+    }
+
+    private void writeKey(Object key) {
+        if (key instanceof Integer index) {
+            writeVarint(0);
+            writeInt(index);
+        } else {
+            writeVarint(1);
+            writeString(String.valueOf(key));
+        }
+    }
+
+    /**
+     * Writes a reference to the given value if it has already been written, or registers it.
+     */
+    private <T> boolean reference(Map<T, Integer> written, T value) {
+        Integer index = written.putIfAbsent(value, written.size());
+        if (index != null) {
+            writeVarint(1 + 2 * index);
+            return true;
+        }
+        return false;
+    }
+
+    private void writeVarint(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void ensure(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Guesses the format of a POM from its first {@link #WINDOW} bytes, for documents without a file extension.
+ * <p>
+ * Comments and blank lines are ignored. A document opening with a brace is JSON, and one opening with a
+ * {@code ---} or {@code %YAML} marker is YAML. Otherwise a TOML table header designates TOML, and a line
+ * opening an object with a trailing brace designates HOCON. Failing these, the first key decides: TOML
+ * values after an {@code =} are quoted strings, numbers, booleans, arrays or inline tables, any other value
+ * being HOCON, while keys followed by a {@code :} are YAML.
+ */
+final class FormatDetector {
+
+    static final int WINDOW = 64 * 1024;
+
+    static final String JSON = "json";
+    static final String YAML = "yaml";
+    static final String TOML = "toml";
+    static final String HOCON = "hocon";
+
+    private FormatDetector() {}
+
+    /**
+     * Returns the format of the given content, or {@code null} if it does not look like any of them.
+     */
+    static String detect(ByteBuffer content) {
+        int start = content.position();
+        int end = start + Math.min(content.remaining(), WINDOW);
+        if (end - start >= 3
+                && content.get(start) == (byte) 0xEF
+                && content.get(start + 1) == (byte) 0xBB
+                && content.get(start + 2) == (byte) 0xBF) {
+            start += 3;
+        }
+        String firstKeyFormat = null;
+        boolean first = true;
+        boolean blockComment = false;
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && content.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            String line = line(content, lineStart, lineEnd);
+            lineStart = lineEnd + 1;
+            if (blockComment) {
+                blockComment = !line.contains("*/");
+                continue;
+            }
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith("//")) {
+                continue;
+            }
+            if (line.startsWith("/*")) {
+                blockComment = !line.contains("*/");
+                continue;
+            }
+            if (first) {
+                first = false;
+                if (line.startsWith("{")) {
+                    return JSON;
+                } else if (line.startsWith("---") || line.startsWith("%YAML")) {
+                    return YAML;
+                }
+            }
+            if (isTableHeader(line)) {
+                return TOML;
+            } else if (line.endsWith("{")) {
+                return HOCON;
+            }
+            if (firstKeyFormat == null) {
+                firstKeyFormat = keyFormat(line);
+            }
+        }
+        return firstKeyFormat;
+    }
+
+    private static String line(ByteBuffer content, int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            // multi-byte characters never matter to the detection
+            sb.append((char) (content.get(i) & 0xFF));
+        }
+        return sb.toString().trim();
+    }
+
+    private static boolean isTableHeader(String line) {
+        return line.startsWith("[") && (line.endsWith("]") || line.contains("] #"));
+    }
+
+    /**
+     * Returns the format designated by the separator and value of a {@code key = value} or {@code key: value}
+     * line, or {@code null} if the line is not a key.
+     */
+    private static String keyFormat(String line) {
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == ':') {
+                return YAML;
+            } else if (c == '=') {
+                return isTomlValue(line.substring(i + 1).trim()) ? TOML : HOCON;
+            } else if (Character.isWhitespace(c) && i > 0) {
+                // only whitespace may separate a key from its separator
+                String rest = line.substring(i).trim();
+                if (!rest.startsWith("=") && !rest.startsWith(":")) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTomlValue(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char c = value.charAt(0);
+        return c == '"'
+                || c == '\''
+                || c == '['
+                || c == '{'
+                || c == '+'
+                || c == '-'
+                || Character.isDigit(c)
+                || value.startsWith("true")
+                || value.startsWith("false")
+                || value.startsWith("inf")
+                || value.startsWith("nan");
+    }
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reactor-wide cache of values containing {@code ${...}} placeholders, compiled once into
+ * {@link Template}s alternating literal text and expressions.
+ * <p>
+ * Identical values share a single template, and their canonical {@link Template#source()} string,
+ * so that a {@code ${project.version}} referenced hundreds of times is scanned and stored once.
+ * Values without placeholders never need a template: see {@link #hasPlaceholder(String)}.
+ */
+public class InterpolationTemplates {
+
+    /**
+     * Beyond this number of characters of cached values, new values are compiled but no longer cached.
+     */
+    static final long MAX_CACHED_CHARS = 1 << 20;
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private final AtomicLong cachedChars = new AtomicLong();
+
+    /**
+     * A value split at its placeholders: {@code literals} has one more element than {@code expressions},
+     * the value being {@code literals[0] ${expressions[0]} literals[1] ... literals[n]}.
+     */
+    public static final class Template {
+        private final String source;
+        private final String[] literals;
+        private final String[] expressions;
+
+        Template(String source, String[] literals, String[] expressions) {
+            this.source = source;
+            this.literals = literals;
+            this.expressions = expressions;
+        }
+
+        /**
+         * Returns the value this template was compiled from.
+         */
+        public String source() {
+            return source;
+        }
+
+        /**
+         * Returns the expressions of the placeholders, in order.
+         */
+        public List<String> expressions() {
+            return List.of(expressions);
+        }
+
+        /**
+         * Replaces each placeholder with the value the resolver gives for its expression.
+         * Placeholders the resolver returns {@code null} for are kept as they are.
+         */
+        public String interpolate(UnaryOperator<String> resolver) {
+            StringBuilder sb = new StringBuilder(source.length() + 16);
+            for (int i = 0; i < expressions.length; i++) {
+                sb.append(literals[i]);
+                String value = resolver.apply(expressions[i]);
+                if (value != null) {
+                    sb.append(value);
+                } else {
+                    sb.append("${").append(expressions[i]).append('}');
+                }
+            }
+            return sb.append(literals[expressions.length]).toString();
+        }
+
+        @Override
+        public String toString() {
+            return source;
+        }
+    }
+
+    /**
+     * A reader transformer interpolating values with a resolver through this cache. Readers using templates
+     * hand it the templates they compiled instead of the values.
+     */
+    public final class Transformer implements MavenJsonReader.ContentTransformer {
+        private final UnaryOperator<String> resolver;
+
+        Transformer(UnaryOperator<String> resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public String transform(String value, String fieldName) {
+            return interpolate(value, resolver);
+        }
+
+        /**
+         * Interpolates an already compiled value.
+         */
+        public String transform(Template template) {
+            return template.interpolate(resolver);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the value contains a {@code ${} placeholder start.
+     */
+    public static boolean hasPlaceholder(String value) {
+        return value != null && value.contains("${");
+    }
+
+    /**
+     * Returns the template of the given value, compiling and caching it on first use.
+     */
+    public Template compile(String value) {
+        Template template = templates.get(value);
+        if (template == null) {
+            template = parse(value);
+            if (cachedChars.get() + value.length() <= MAX_CACHED_CHARS) {
+                Template existing = templates.putIfAbsent(value, template);
+                if (existing != null) {
+                    template = existing;
+                } else {
+                    cachedChars.addAndGet(value.length());
+                }
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Interpolates the given value, skipping values without placeholders entirely.
+     */
+    public String interpolate(String value, UnaryOperator<String> resolver) {
+        return hasPlaceholder(value) ? compile(value).interpolate(resolver) : value;
+    }
+
+    /**
+     * Returns a reader transformer interpolating values with the given resolver through this cache.
+     */
+    public Transformer transformer(UnaryOperator<String> resolver) {
+        return new Transformer(resolver);
+    }
+
+    /**
+     * Returns the canonical instance of the given value if it contains placeholders, the value itself otherwise.
+     */
+    public String canonical(String value) {
+        return hasPlaceholder(value) ? compile(value).source() : value;
+    }
+
+    int size() {
+        return templates.size();
+    }
+
+    private static Template parse(String value) {
+        List<String> literals = new ArrayList<>();
+        List<String> expressions = new ArrayList<>();
+        int literal = 0;
+        while (true) {
+            int open = value.indexOf("${", literal);
+            int close = open >= 0 ? value.indexOf('}', open + 2) : -1;
+            if (close < 0) {
+                // no more (complete) placeholders
+                literals.add(value.substring(literal));
+                break;
+            }
+            literals.add(value.substring(literal, open));
+            expressions.add(value.substring(open + 2, close));
+            literal = close + 1;
+        }
+        return new Template(value, literals.toArray(String[]::new), expressions.toArray(String[]::new));
+    }
+}
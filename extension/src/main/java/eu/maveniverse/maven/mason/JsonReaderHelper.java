@@ -12,11 +12,15 @@ package eu.maveniverse.maven.mason;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+import eu.maveniverse.maven.mason.hocon.HoconParser;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.maven.api.model.InputLocation;
 import org.apache.maven.api.model.InputSource;
 import org.apache.maven.api.xml.XmlNode;
@@ -49,6 +53,15 @@ public class JsonReaderHelper {
      * @return String array containing [groupId, artifactId, version]
      */
     public static String[] parseGavString(String str, JsonParser parser) throws IOException {
+        return parseGavString(str, parser, null);
+    }
+
+    /**
+     * Parses a GAV string, canonicalizing its parts with the given interner if not {@code null}.
+     * @return String array containing [groupId, artifactId, version]
+     */
+    public static String[] parseGavString(String str, JsonParser parser, StringInterner interner)
+            throws IOException {
         if (str == null) {
             throw new IOException("GAV string cannot be null at line "
                     + parser.currentLocation().getLineNr() + ", column "
@@ -71,9 +84,9 @@ public class JsonReaderHelper {
         }
 
         // All parts are optional with Maven 4 inference
-        if (parts.length > 0) result[0] = parts[0].isEmpty() ? null : parts[0]; // groupId
-        if (parts.length > 1) result[1] = parts[1].isEmpty() ? null : parts[1]; // artifactId
-        if (parts.length > 2) result[2] = parts[2].isEmpty() ? null : parts[2]; // version
+        if (parts.length > 0) result[0] = part(parts[0], interner); // groupId
+        if (parts.length > 1) result[1] = part(parts[1], interner); // artifactId
+        if (parts.length > 2) result[2] = part(parts[2], interner); // version
 
         return result;
     }
@@ -85,6 +98,15 @@ public class JsonReaderHelper {
      * @return String array containing [groupId, artifactId, scope, version, type, classifier, optional]
      */
     public static String[] parseGasvtcoString(String str, JsonParser parser) throws IOException {
+        return parseGasvtcoString(str, parser, null);
+    }
+
+    /**
+     * Parses a GASVTCO string, canonicalizing its parts with the given interner if not {@code null}.
+     * @return String array containing [groupId, artifactId, scope, version, type, classifier, optional]
+     */
+    public static String[] parseGasvtcoString(String str, JsonParser parser, StringInterner interner)
+            throws IOException {
         if (str == null) {
             throw new IOException("GASVTC string cannot be null at line "
                     + parser.currentLocation().getLineNr() + ", column "
@@ -100,7 +122,7 @@ public class JsonReaderHelper {
         // Split scope from main coordinates
         String[] scopeSplit = str.split("@", 2);
         String coords = scopeSplit[0];
-        String scope = scopeSplit.length > 1 ? scopeSplit[1] : null;
+        String scope = scopeSplit.length > 1 ? intern(interner, scopeSplit[1]) : null;
 
         String[] result = new String[7]; // [groupId, artifactId, scope, version, type, classifier, optional]
 
@@ -122,11 +144,11 @@ public class JsonReaderHelper {
 
         // With Maven 4 inference, groupId can be optional (inferred from dependencyManagement or parent)
         // ArtifactId is typically still required for dependencies
-        if (parts.length > 0) result[0] = parts[0].isEmpty() ? null : parts[0]; // groupId
-        if (parts.length > 1) result[1] = parts[1].isEmpty() ? null : parts[1]; // artifactId
-        if (parts.length > 2) result[3] = parts[2].isEmpty() ? null : parts[2]; // version
-        if (parts.length > 3) result[4] = parts[3].isEmpty() ? null : parts[3]; // type
-        if (parts.length > 4) result[5] = parts[4].isEmpty() ? null : parts[4]; // classifier
+        if (parts.length > 0) result[0] = part(parts[0], interner); // groupId
+        if (parts.length > 1) result[1] = part(parts[1], interner); // artifactId
+        if (parts.length > 2) result[3] = part(parts[2], interner); // version
+        if (parts.length > 3) result[4] = part(parts[3], interner); // type
+        if (parts.length > 4) result[5] = part(parts[4], interner); // classifier
 
         // Set scope and optional flag
         result[2] = scope; // scope
@@ -135,6 +157,17 @@ public class JsonReaderHelper {
         return result;
     }
 
+    private static String part(String part, StringInterner interner) {
+        return part.isEmpty() ? null : intern(interner, part);
+    }
+
+    /**
+     * Returns the canonical instance of the given value if an interner is used, the value itself otherwise.
+     */
+    static String intern(StringInterner interner, String value) {
+        return interner != null ? interner.intern(value) : value;
+    }
+
     /**
      * Creates an InputLocation if location tracking is enabled.
      */
@@ -148,6 +181,116 @@ public class JsonReaderHelper {
                 : null;
     }
 
+    /**
+     * Returns the anchor name referenced by the current token if it is a YAML alias
+     * (such as {@code *cfg}), or {@code null} otherwise.
+     */
+    public static String aliasOf(JsonParser parser) throws IOException {
+        if (parser instanceof YAMLParser yamlParser && yamlParser.isCurrentAlias()) {
+            return yamlParser.getText();
+        }
+        if (parser instanceof TokenTape.Replay replay && replay.isCurrentAlias()) {
+            return replay.getText();
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the given parser reads dotted keys as nested objects, as HOCON does: the nested
+     * objects of a properties map then denote dotted property names.
+     */
+    public static boolean expandsDottedKeys(JsonParser parser) {
+        return parser instanceof HoconParser;
+    }
+
+    private static boolean isAlias(JsonParser parser) {
+        return parser instanceof YAMLParser yamlParser && yamlParser.isCurrentAlias()
+                || parser instanceof TokenTape.Replay replay && replay.isCurrentAlias();
+    }
+
+    /**
+     * Returns the anchor name declared on the current token (such as {@code &cfg}),
+     * or {@code null} if the format does not support anchors or none is declared.
+     */
+    public static String anchorOf(JsonParser parser) throws IOException {
+        if (parser.canReadObjectId()) {
+            Object id = parser.getObjectId();
+            return id != null ? id.toString() : null;
+        }
+        return null;
+    }
+
+    /**
+     * Records the value built for the given anchor so that later aliases can share it.
+     * @return the value itself
+     */
+    public static <T> T anchor(Map<String, Object> anchors, String anchor, T value) {
+        if (anchor != null && value != null) {
+            anchors.put(anchor, value);
+        }
+        return value;
+    }
+
+    /**
+     * Resolves an alias to the value previously built for its anchor.
+     * The returned instance is shared by reference with the anchored one.
+     */
+    public static <T> T resolveAlias(Map<String, Object> anchors, String alias, Class<T> type, JsonParser parser)
+            throws IOException {
+        Object value = anchors.get(alias);
+        if (value == null) {
+            throw new IOException("Unknown alias '*" + alias + "' at line "
+                    + parser.currentLocation().getLineNr() + ", column "
+                    + parser.currentLocation().getColumnNr());
+        }
+        if (!type.isInstance(value)) {
+            throw new IOException("Alias '*" + alias + "' refers to a " + value.getClass().getSimpleName()
+                    + " where a " + type.getSimpleName() + " is expected at line "
+                    + parser.currentLocation().getLineNr() + ", column "
+                    + parser.currentLocation().getColumnNr());
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * Resolves an alias to the list previously built for its anchor, checking that its elements are of
+     * the given type, so that an alias to a list of another kind is reported where it is used.
+     */
+    public static <E> List<E> resolveListAlias(
+            Map<String, Object> anchors, String alias, Class<E> elementType, JsonParser parser) throws IOException {
+        List<?> list = resolveAlias(anchors, alias, List.class, parser);
+        for (Object element : list) {
+            if (!elementType.isInstance(element)) {
+                throw new IOException("Alias '*" + alias + "' refers to a list of "
+                        + element.getClass().getSimpleName() + " where a list of " + elementType.getSimpleName()
+                        + " is expected at line " + parser.currentLocation().getLineNr() + ", column "
+                        + parser.currentLocation().getColumnNr());
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<E> checked = (List<E>) list;
+        return checked;
+    }
+
+    /**
+     * Resolves an alias to the properties previously built for its anchor, checking that its keys and
+     * values are strings.
+     */
+    public static Map<String, String> resolvePropertiesAlias(
+            Map<String, Object> anchors, String alias, JsonParser parser) throws IOException {
+        Map<?, ?> map = resolveAlias(anchors, alias, Map.class, parser);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String) || !(entry.getValue() instanceof String)) {
+                throw new IOException("Alias '*" + alias + "' refers to a map of non-string entries at line "
+                        + parser.currentLocation().getLineNr() + ", column "
+                        + parser.currentLocation().getColumnNr());
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> checked = (Map<String, String>) map;
+        return checked;
+    }
+
     /**
      * Gets a boolean value from a string with a default value.
      */
@@ -188,136 +331,271 @@ public class JsonReaderHelper {
      */
     public static XmlNode buildXmlNode(JsonParser parser, InputSource inputSrc, boolean addLocationInformation)
             throws IOException {
-        String name = parser.currentName();
+        return buildXmlNode(parser, inputSrc, addLocationInformation, new HashMap<>());
+    }
+
+    /**
+     * Builds an XmlNode from a JSON parser stream, resolving YAML aliases against
+     * (and recording anchors into) the given per-document anchor table.
+     * An aliased subtree is not rebuilt: its attributes and children are shared by reference.
+     * <p>
+     * The parser must be positioned on the value of the field naming the node. Objects become
+     * elements, {@code @}-prefixed scalar fields become attributes, and arrays become elements
+     * whose items are named after the singular form of the array name. An array item that is an
+     * object whose first field is named after that singular form is unwrapped. Nesting depth is
+     * only bounded by the heap, as the tree is built with an explicit stack.
+     */
+    public static XmlNode buildXmlNode(
+            JsonParser parser, InputSource inputSrc, boolean addLocationInformation, Map<String, Object> anchors)
+            throws IOException {
+        return buildXmlNode(parser, inputSrc, addLocationInformation, anchors, null);
+    }
+
+    /**
+     * Builds an XmlNode from a JSON parser stream as above, canonicalizing element and attribute names,
+     * as well as short values, with the given interner if not {@code null}.
+     */
+    public static XmlNode buildXmlNode(
+            JsonParser parser,
+            InputSource inputSrc,
+            boolean addLocationInformation,
+            Map<String, Object> anchors,
+            StringInterner interner)
+            throws IOException {
+        String name = intern(interner, parser.currentName());
         if (name == null) {
             throw new IOException("Node name cannot be null at line "
                     + parser.currentLocation().getLineNr() + ", column "
                     + parser.currentLocation().getColumnNr());
         }
 
-        String value = null;
-        Map<String, String> attributes = new LinkedHashMap<>();
-        List<XmlNode> children = new ArrayList<>();
-        InputLocation location = addLocationInformation
-                ? new InputLocation(
-                        parser.currentLocation().getLineNr(),
-                        parser.currentLocation().getColumnNr(),
-                        inputSrc)
-                : null;
-
-        JsonToken token = parser.nextToken();
+        JsonToken token = parser.currentToken();
+        String alias = aliasOf(parser);
+        if (alias != null) {
+            return rename(resolveAlias(anchors, alias, XmlNode.class, parser), name);
+        }
         if (token == JsonToken.VALUE_NULL) {
-            return XmlNode.newInstance(name, null, attributes, children, location);
+            return XmlNode.newInstance(
+                    name, null, Map.of(), List.of(), createLocation(parser, inputSrc, addLocationInformation));
+        }
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return leaf(name, parser, inputSrc, addLocationInformation, anchors, interner);
         }
 
-        while (token != JsonToken.END_OBJECT && token != null) {
-            if (token == JsonToken.FIELD_NAME) {
-                String fieldName = parser.currentName();
-                token = parser.nextToken();
+        List<Frame> frames = new ArrayList<>();
+        int depth = 0;
+        Frame frame = push(
+                frames, depth, name, token == JsonToken.START_ARRAY, false, parser, inputSrc, addLocationInformation);
+        while (true) {
+            token = parser.nextToken();
+            if (token == null) {
+                throw new IOException("Unexpected end of input while reading '" + frame.name + "' at line "
+                        + parser.currentLocation().getLineNr() + ", column "
+                        + parser.currentLocation().getColumnNr());
+            }
 
-                if (token == JsonToken.START_OBJECT) {
-                    children.add(buildXmlNode(parser, inputSrc, addLocationInformation));
-                } else if (token == JsonToken.START_ARRAY) {
-                    List<XmlNode> arrayChildren = new ArrayList<>();
-                    String singularName = toSingular(fieldName);
-
-                    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
-                        if (token == JsonToken.START_OBJECT) {
-                            // Look ahead to see if this is a wrapper object
-                            token = parser.nextToken();
-                            if (token == JsonToken.FIELD_NAME) {
-                                String firstField = parser.currentName();
-                                if (firstField.equals(singularName)) {
-                                    // Skip the wrapper field, use its contents directly
-                                    token = parser.nextToken(); // Move to the start of inner object
-                                    if (token == JsonToken.START_OBJECT) {
-                                        Map<String, String> objAttributes = new LinkedHashMap<>();
-                                        List<XmlNode> objectChildren = new ArrayList<>();
-                                        while ((token = parser.nextToken()) != JsonToken.END_OBJECT) {
-                                            if (token == JsonToken.FIELD_NAME) {
-                                                String objFieldName = parser.currentName();
-                                                token = parser.nextToken();
-                                                if (objFieldName.startsWith("@")) {
-                                                    objAttributes.put(objFieldName.substring(1), parser.getText());
-                                                } else {
-                                                    objectChildren.add(XmlNode.newInstance(
-                                                            objFieldName,
-                                                            parser.getText(),
-                                                            new LinkedHashMap<>(),
-                                                            new ArrayList<>(),
-                                                            createLocation(parser, inputSrc, addLocationInformation)));
-                                                }
-                                            }
-                                        }
-                                        parser.nextToken(); // Skip the outer object's END_OBJECT
-                                        arrayChildren.add(XmlNode.newInstance(
-                                                singularName,
-                                                null,
-                                                objAttributes,
-                                                objectChildren,
-                                                createLocation(parser, inputSrc, addLocationInformation)));
-                                    }
-                                } else {
-                                    // Regular object, process its fields
-                                    Map<String, String> objAttributes = new LinkedHashMap<>();
-                                    List<XmlNode> objectChildren = new ArrayList<>();
-                                    parser.currentName(); // Reset to first field
-                                    while (token == JsonToken.FIELD_NAME) {
-                                        String objFieldName = parser.currentName();
-                                        token = parser.nextToken();
-                                        if (objFieldName.startsWith("@")) {
-                                            objAttributes.put(objFieldName.substring(1), parser.getText());
-                                        } else {
-                                            objectChildren.add(XmlNode.newInstance(
-                                                    objFieldName,
-                                                    parser.getText(),
-                                                    new LinkedHashMap<>(),
-                                                    new ArrayList<>(),
-                                                    createLocation(parser, inputSrc, addLocationInformation)));
-                                        }
-                                        token = parser.nextToken();
-                                    }
-                                    arrayChildren.add(XmlNode.newInstance(
-                                            singularName,
-                                            null,
-                                            objAttributes,
-                                            objectChildren,
-                                            createLocation(parser, inputSrc, addLocationInformation)));
-                                }
-                            }
-                        } else if (token.isScalarValue()) {
-                            arrayChildren.add(XmlNode.newInstance(
-                                    singularName,
-                                    parser.getText(),
-                                    new LinkedHashMap<>(),
-                                    new ArrayList<>(),
-                                    createLocation(parser, inputSrc, addLocationInformation)));
-                        }
+            XmlNode completed = null;
+            if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                if (frame.wrapped) {
+                    // end of the unwrapped inner object, the enclosing wrapper object is still open
+                    frame.wrapped = false;
+                    continue;
+                }
+                completed = frame.build(anchors);
+                if (depth == 0) {
+                    return completed;
+                }
+                frame = frames.get(--depth);
+            } else if (frame.array) {
+                String itemName = frame.itemName;
+                if (isAlias(parser) || token.isScalarValue()) {
+                    completed = item(itemName, parser, inputSrc, addLocationInformation, anchors, interner);
+                } else {
+                    frame = push(
+                            frames,
+                            ++depth,
+                            itemName,
+                            token == JsonToken.START_ARRAY,
+                            token == JsonToken.START_OBJECT,
+                            parser,
+                            inputSrc,
+                            addLocationInformation);
+                }
+            } else if (token == JsonToken.FIELD_NAME) {
+                String fieldName = intern(interner, parser.currentName());
+                token = parser.nextToken();
+                boolean firstField = frame.element;
+                frame.element = false;
+                if (firstField && fieldName.equals(frame.name) && !isAlias(parser)) {
+                    // wrapper object such as {transformer: {...}} inside a "transformers" array
+                    if (token == JsonToken.START_OBJECT) {
+                        frame.wrapped = true;
+                        continue;
+                    } else if (token.isScalarValue()) {
+                        frame.value = intern(interner, parser.getText());
+                        continue;
                     }
-                    children.add(XmlNode.newInstance(
+                }
+                String fieldAlias = aliasOf(parser);
+                if (fieldName.startsWith("@") && (fieldAlias != null || token.isScalarValue())) {
+                    frame.attributes.put(
+                            intern(interner, fieldName.substring(1)),
+                            fieldAlias != null
+                                    ? resolveAlias(anchors, fieldAlias, String.class, parser)
+                                    : anchor(anchors, anchorOf(parser), intern(interner, parser.getText())));
+                } else if (fieldAlias != null || token.isScalarValue()) {
+                    completed = item(fieldName, parser, inputSrc, addLocationInformation, anchors, interner);
+                } else {
+                    frame = push(
+                            frames,
+                            ++depth,
                             fieldName,
-                            null,
-                            new LinkedHashMap<>(),
-                            arrayChildren,
-                            createLocation(parser, inputSrc, addLocationInformation)));
-                } else if (token.isScalarValue()) {
-                    if (fieldName.startsWith("@")) {
-                        attributes.put(fieldName.substring(1), parser.getText());
-                    } else {
-                        children.add(XmlNode.newInstance(
-                                fieldName,
-                                parser.getText(),
-                                new LinkedHashMap<>(),
-                                new ArrayList<>(),
-                                createLocation(parser, inputSrc, addLocationInformation)));
-                    }
+                            token == JsonToken.START_ARRAY,
+                            false,
+                            parser,
+                            inputSrc,
+                            addLocationInformation);
                 }
-            } else if (token.isScalarValue()) {
-                value = parser.getText();
+            } else {
+                throw new IOException("Unexpected token " + token + " while reading '" + frame.name + "' at line "
+                        + parser.currentLocation().getLineNr() + ", column "
+                        + parser.currentLocation().getColumnNr());
+            }
+            if (completed != null) {
+                frame.children.add(completed);
             }
-            token = parser.nextToken();
         }
+    }
 
-        return XmlNode.newInstance(name, value, attributes, children, location);
+    /**
+     * Builds the node for a scalar or aliased value.
+     */
+    private static XmlNode item(
+            String name,
+            JsonParser parser,
+            InputSource inputSrc,
+            boolean addLocationInformation,
+            Map<String, Object> anchors,
+            StringInterner interner)
+            throws IOException {
+        String alias = aliasOf(parser);
+        if (alias != null) {
+            Object aliased = anchors.get(alias);
+            if (aliased instanceof XmlNode node) {
+                return rename(node, name);
+            }
+            return XmlNode.newInstance(
+                    name,
+                    resolveAlias(anchors, alias, String.class, parser),
+                    Map.of(),
+                    List.of(),
+                    createLocation(parser, inputSrc, addLocationInformation));
+        }
+        return leaf(name, parser, inputSrc, addLocationInformation, anchors, interner);
+    }
+
+    private static XmlNode leaf(
+            String name,
+            JsonParser parser,
+            InputSource inputSrc,
+            boolean addLocationInformation,
+            Map<String, Object> anchors,
+            StringInterner interner)
+            throws IOException {
+        // an explicit null is an empty element, such as <skip/>, rather than the "null" text
+        String value = parser.currentToken() == JsonToken.VALUE_NULL ? null : intern(interner, parser.getText());
+        return XmlNode.newInstance(
+                name,
+                anchor(anchors, anchorOf(parser), value),
+                Map.of(),
+                List.of(),
+                createLocation(parser, inputSrc, addLocationInformation));
+    }
+
+    /**
+     * Enters the frame for the given depth, reusing the frame (and its scratch collections)
+     * left there by a previously completed sibling.
+     */
+    private static Frame push(
+            List<Frame> frames,
+            int depth,
+            String name,
+            boolean array,
+            boolean element,
+            JsonParser parser,
+            InputSource inputSrc,
+            boolean addLocationInformation)
+            throws IOException {
+        Frame frame;
+        if (depth < frames.size()) {
+            frame = frames.get(depth);
+        } else {
+            frame = new Frame();
+            frames.add(frame);
+        }
+        frame.name = name;
+        frame.array = array;
+        frame.itemName = array ? singular(name) : null;
+        frame.element = element;
+        frame.wrapped = false;
+        frame.value = null;
+        frame.anchor = anchorOf(parser);
+        frame.location = createLocation(parser, inputSrc, addLocationInformation);
+        return frame;
+    }
+
+    /**
+     * State of an object or array being built. Attributes and children are scratch
+     * collections: {@link XmlNode#newInstance} copies them into exactly sized immutable ones.
+     */
+    private static final class Frame {
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        final List<XmlNode> children = new ArrayList<>();
+        String name;
+        String itemName;
+        String value;
+        String anchor;
+        InputLocation location;
+        boolean array;
+        boolean element;
+        boolean wrapped;
+
+        XmlNode build(Map<String, Object> anchors) {
+            XmlNode node = XmlNode.newInstance(name, value, attributes, children, location);
+            attributes.clear();
+            children.clear();
+            return anchor(anchors, anchor, node);
+        }
+    }
+
+    private static final int MAX_CACHED_SINGULARS = 4096;
+
+    private static final Map<String, String> SINGULARS = new ConcurrentHashMap<>();
+
+    /**
+     * Same as {@link #toSingular(String)}, caching the result for the (small) vocabulary of array names.
+     */
+    static String singular(String plural) {
+        String singular = SINGULARS.get(plural);
+        if (singular == null) {
+            singular = toSingular(plural);
+            if (SINGULARS.size() < MAX_CACHED_SINGULARS) {
+                SINGULARS.put(plural, singular);
+            }
+        }
+        return singular;
+    }
+
+    /**
+     * Returns the given node under another name, sharing its attributes and children.
+     */
+    private static XmlNode rename(XmlNode node, String name) {
+        if (name.equals(node.name())) {
+            return node;
+        }
+        if (node instanceof LazyXmlNode lazy) {
+            return lazy.withName(name);
+        }
+        return XmlNode.newInstance(name, node.value(), node.attributes(), node.children(), node.inputLocation());
     }
 }
@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static eu.maveniverse.maven.mason.JsonReaderHelper.aliasOf;
+import static eu.maveniverse.maven.mason.JsonReaderHelper.anchorOf;
+import static eu.maveniverse.maven.mason.JsonReaderHelper.buildXmlNode;
+import static eu.maveniverse.maven.mason.JsonReaderHelper.resolveAlias;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.xml.XmlNode;
+
+/**
+ * {@link XmlNode} whose content is kept as a {@link TokenTape} and only built, with
+ * {@link JsonReaderHelper#buildXmlNode}, when first accessed. Its name and input location
+ * are known upfront and never trigger the build.
+ */
+final class LazyXmlNode implements XmlNode {
+
+    private final String name;
+    private final int start;
+    private final int end;
+    private final InputSource inputSrc;
+    private final boolean addLocationInformation;
+    private final InputLocation location;
+    private TokenTape tape;
+    private volatile XmlNode node;
+
+    private LazyXmlNode(
+            String name,
+            TokenTape tape,
+            int start,
+            int end,
+            InputSource inputSrc,
+            boolean addLocationInformation,
+            InputLocation location) {
+        this.name = name;
+        this.tape = tape;
+        this.start = start;
+        this.end = end;
+        this.inputSrc = inputSrc;
+        this.addLocationInformation = addLocationInformation;
+        this.location = location;
+    }
+
+    /**
+     * Records the object or array the parser is positioned on and returns a node building
+     * itself from that recording on first access. Scalars, nulls and aliases are cheap to
+     * build and are returned as regular nodes.
+     * Anchors declared within the recorded subtree are registered as lazy nodes themselves.
+     */
+    static XmlNode capture(
+            JsonParser parser, InputSource inputSrc, boolean addLocationInformation, Map<String, Object> anchors)
+            throws IOException {
+        JsonToken token = parser.currentToken();
+        if ((token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) || aliasOf(parser) != null) {
+            return buildXmlNode(parser, inputSrc, addLocationInformation, anchors);
+        }
+        String name = parser.currentName();
+        if (name == null) {
+            throw new IOException("Node name cannot be null at line "
+                    + parser.currentLocation().getLineNr() + ", column "
+                    + parser.currentLocation().getColumnNr());
+        }
+        String anchor = anchorOf(parser);
+
+        TokenTape tape = new TokenTape(addLocationInformation);
+        Deque<Anchored> anchored = new ArrayDeque<>();
+        String fieldName = name;
+        int depth = 0;
+        while (true) {
+            String alias = aliasOf(parser);
+            if (alias != null) {
+                tape.addAlias(alias, resolveAlias(anchors, alias, Object.class, parser), parser);
+            } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                String nested = depth > 0 ? anchorOf(parser) : null;
+                if (nested != null) {
+                    anchored.push(new Anchored(nested, fieldName, tape.size(), depth + 1));
+                }
+                depth++;
+                tape.add(token, null, parser);
+            } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                tape.add(token, null, parser);
+                if (!anchored.isEmpty() && anchored.peek().depth() == depth) {
+                    Anchored entry = anchored.pop();
+                    anchors.put(
+                            entry.anchor(),
+                            new LazyXmlNode(
+                                    entry.name(),
+                                    tape,
+                                    entry.start(),
+                                    tape.size(),
+                                    inputSrc,
+                                    addLocationInformation,
+                                    location(tape, entry.start(), inputSrc)));
+                }
+                if (--depth == 0) {
+                    break;
+                }
+            } else if (token == JsonToken.FIELD_NAME) {
+                fieldName = parser.currentName();
+                tape.add(token, fieldName, parser);
+            } else {
+                String text = parser.getText();
+                tape.add(token, text, parser);
+                JsonReaderHelper.anchor(anchors, anchorOf(parser), text);
+            }
+            token = parser.nextToken();
+            if (token == null) {
+                throw new IOException("Unexpected end of input while reading '" + name + "' at line "
+                        + parser.currentLocation().getLineNr() + ", column "
+                        + parser.currentLocation().getColumnNr());
+            }
+        }
+        tape.trim();
+
+        XmlNode node = new LazyXmlNode(
+                name, tape, 0, tape.size(), inputSrc, addLocationInformation, location(tape, 0, inputSrc));
+        return JsonReaderHelper.anchor(anchors, anchor, node);
+    }
+
+    /**
+     * Anchor declared on a nested object or array, waiting for the end of its subtree.
+     */
+    private record Anchored(String anchor, String name, int start, int depth) {}
+
+    private static InputLocation location(TokenTape tape, int index, InputSource inputSrc) {
+        return tape.line(index) >= 0 ? new InputLocation(tape.line(index), tape.column(index), inputSrc) : null;
+    }
+
+    /**
+     * Returns {@code true} once the content has been built.
+     */
+    boolean isBuilt() {
+        return node != null;
+    }
+
+    /**
+     * Returns this node under another name, still unbuilt if this one is.
+     */
+    XmlNode withName(String name) {
+        synchronized (this) {
+            if (node == null) {
+                return new LazyXmlNode(name, tape, start, end, inputSrc, addLocationInformation, location);
+            }
+        }
+        XmlNode built = node;
+        return XmlNode.newInstance(name, built.value(), built.attributes(), built.children(), built.inputLocation());
+    }
+
+    private XmlNode node() {
+        XmlNode built = node;
+        if (built == null) {
+            synchronized (this) {
+                built = node;
+                if (built == null) {
+                    try {
+                        TokenTape.Replay replay = tape.replay(name, start, end);
+                        replay.nextToken();
+                        built = buildXmlNode(replay, inputSrc, addLocationInformation, tape.aliases());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    node = built;
+                    tape = null;
+                }
+            }
+        }
+        return built;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String namespaceUri() {
+        return node().namespaceUri();
+    }
+
+    @Override
+    public String prefix() {
+        return node().prefix();
+    }
+
+    @Override
+    public String value() {
+        return node().value();
+    }
+
+    @Override
+    public Map<String, String> attributes() {
+        return node().attributes();
+    }
+
+    @Override
+    public String attribute(String name) {
+        return node().attribute(name);
+    }
+
+    @Override
+    public List<XmlNode> children() {
+        return node().children();
+    }
+
+    @Override
+    public XmlNode child(String name) {
+        return node().child(name);
+    }
+
+    @Override
+    public Object inputLocation() {
+        return location;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || node().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return node().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return node().toString();
+    }
+}
@@ -11,13 +11,21 @@
 package eu.maveniverse.maven.mason;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.StreamReadFeature;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
-import com.fasterxml.jackson.dataformat.toml.TomlFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import eu.maveniverse.maven.mason.hocon.HoconFactory;
+import eu.maveniverse.maven.mason.toml.NonContiguousTableException;
+import eu.maveniverse.maven.mason.toml.TomlFactory;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.maven.api.di.Named;
@@ -28,68 +36,564 @@ import org.apache.maven.api.services.Source;
 import org.apache.maven.api.services.Sources;
 import org.apache.maven.api.spi.ModelParser;
 import org.apache.maven.api.spi.ModelParserException;
+import org.yaml.snakeyaml.LoaderOptions;
 
 @Singleton
 @Named("mason")
 public class MasonParser implements ModelParser {
 
+    /**
+     * Option (or system property) enabling reactor-wide canonicalization of plugin configurations:
+     * structurally identical {@code XmlNode} trees are then shared by all models parsed by this parser.
+     * Shared instances keep the input location of their first occurrence.
+     */
+    public static final String INTERN_XML_NODES = "mason.internXmlNodes";
+
+    /**
+     * Option (or system property) enabling reactor-wide deduplication of short strings: groupIds, versions,
+     * scopes, plugin artifactIds and configuration element names are then shared by all models parsed by
+     * this parser instead of being allocated for each occurrence.
+     */
+    public static final String INTERN_STRINGS = "mason.internStrings";
+
+    /**
+     * Option (or system property) sharing dependencies, exclusions and plugins with identical content
+     * between all models parsed by this parser. As shared elements cannot keep the locations of each of
+     * their occurrences, it only applies when {@link #LOCATION_TRACKING} is disabled.
+     */
+    public static final String INTERN_ELEMENTS = "mason.internElements";
+
+    /**
+     * Option (or system property) deferring the construction of plugin configurations: their tokens are
+     * recorded while parsing and the {@code XmlNode} children are only built when first accessed, which
+     * saves time and memory for configurations that are never read. Takes precedence over interning.
+     */
+    public static final String LAZY_XML_NODES = "mason.lazyXmlNodes";
+
+    /**
+     * Option (or system property) sharing values with {@code ${...}} placeholders, such as versions
+     * referenced by many POMs, between all the models parsed by this parser, each compiled once into
+     * an {@link InterpolationTemplates.Template}. Values without placeholders skip the reader's
+     * content transformer.
+     */
+    public static final String INTERPOLATION_TEMPLATES = "mason.interpolationTemplates";
+
+    /**
+     * Option (or system property) recording the line and column of each element in the model's
+     * {@code InputLocation}s, enabled by default. Builds that never report locations, such as bulk model
+     * extraction or dependency analysis, can disable it to skip all the location bookkeeping.
+     */
+    public static final String LOCATION_TRACKING = "mason.locationTracking";
+
+    /**
+     * Option (or system property) caching parsed models across builds, for long-lived parsers
+     * (mvnd, IDEs). A cached model is reused as long as its file keeps its size and modification time,
+     * or, when these changed, as long as its content keeps the same CRC32C fingerprint.
+     */
+    public static final String CACHE_MODELS = "mason.cacheModels";
+
+    /**
+     * Option (or system property) watching the directories of parsed and located POMs, so that cached
+     * models are invalidated by file system events instead of being checked on each parse. Implies
+     * {@link #CACHE_MODELS}. Attribute checks are still used when events may have been missed. Since events
+     * are reported asynchronously, an edit is seen once the watcher has reported it.
+     */
+    public static final String WATCH_POMS = "mason.watchPoms";
+
+    /**
+     * Option (or system property) reparsing changed POMs incrementally when models are cached: the new
+     * model reuses the dependencies, plugins, executions and configurations of the previous model of the
+     * file that are unchanged, locations included, so that caches keyed by their identity keep hitting.
+     * Only a previous model still live is reused, see {@link #CACHE_HOT_MODELS}.
+     */
+    public static final String INCREMENTAL = "mason.incremental";
+
+    /**
+     * Option (or system property) giving the number of cached models kept live. Beyond it, the least
+     * recently used ones are serialized and compressed, and inflated again when next reused, which is
+     * much cheaper than parsing them. Unbounded by default.
+     */
+    public static final String CACHE_HOT_MODELS = "mason.cacheHotModels";
+
+    /**
+     * Option (or system property) giving the number of bytes of compressed cached models kept. Beyond it,
+     * the least recently compressed ones are dropped, and parsed again when next needed. Unbounded by
+     * default.
+     */
+    public static final String CACHE_COLD_BYTES = "mason.cacheColdBytes";
+
+    /**
+     * Option giving the format of the document, one of {@code json}, {@code yaml}, {@code toml} or
+     * {@code hocon}, instead of inferring it from the file extension. Documents without a path and
+     * without this option have their format detected from their first bytes.
+     */
+    public static final String FORMAT = "mason.format";
+
+    /**
+     * System property bounding the nesting depth of objects and arrays, {@value #DEFAULT_MAX_DEPTH} by default.
+     * Like the other limits, it is read when the parser is created, whatever the format of the documents.
+     */
+    public static final String MAX_DEPTH = "mason.maxDepth";
+
+    /**
+     * System property bounding the length of a document in characters, 64 MiB by default.
+     */
+    public static final String MAX_DOCUMENT_LENGTH = "mason.maxDocumentLength";
+
+    /**
+     * System property bounding the length in characters of any single string, key or comment, 4 MiB by default.
+     */
+    public static final String MAX_STRING_LENGTH = "mason.maxStringLength";
+
+    /**
+     * System property bounding the number of tokens of a document, {@value #DEFAULT_MAX_TOKENS} by default.
+     */
+    public static final String MAX_TOKENS = "mason.maxTokens";
+
+    /**
+     * Extensions of the POM files located by this parser, in order of precedence.
+     */
+    static final List<String> EXTENSIONS = List.of(".json", ".yaml", ".yml", ".toml", ".hocon", ".conf");
+
+    // real POMs nest a few tens of levels at most, plugin configurations included: 500 leaves ample room
+    // while rejecting pathologically nested documents early
+    static final int DEFAULT_MAX_DEPTH = 500;
+    static final long DEFAULT_MAX_DOCUMENT_LENGTH = 64L << 20;
+    static final int DEFAULT_MAX_STRING_LENGTH = 4 << 20;
+    static final long DEFAULT_MAX_TOKENS = 10_000_000L;
+
+    /**
+     * Buffers of all the parsers created by this parser's factories, reused across threads.
+     * The factories never close the streams they are given, which are owned by the callers.
+     */
+    private final BufferRecyclerPool recyclerPool = new BufferRecyclerPool(BufferRecyclerPool.DEFAULT_CAPACITY);
+
+    private final JsonFactory jsonFactory;
+    private final JsonFactory yamlFactory;
+    private final JsonFactory tomlFactory;
+    private final JsonFactory tomlTreeFactory;
+    private final JsonFactory hoconFactory;
+
+    private final XmlNodeInterner xmlNodeInterner = new XmlNodeInterner();
+    private final StringInterner stringInterner = new StringInterner();
+    private final ModelElementInterner modelElementInterner = new ModelElementInterner();
+    private final InterpolationTemplates interpolationTemplates = new InterpolationTemplates();
+    private final ModelCache modelCache = new ModelCache();
+    private volatile PomWatcher pomWatcher;
+    private boolean pomWatcherFailed;
+
+    public MasonParser() {
+        this(constraints(Map.of()));
+    }
+
+    /**
+     * Creates a parser enforcing the given limits on all the documents it reads, instead of the ones
+     * configured by the {@link #MAX_DEPTH}, {@link #MAX_DOCUMENT_LENGTH}, {@link #MAX_STRING_LENGTH}
+     * and {@link #MAX_TOKENS} system properties.
+     */
+    public MasonParser(StreamReadConstraints constraints) {
+        jsonFactory = JsonFactory.builder()
+                .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+                .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+                .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+                .enable(JsonReadFeature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER)
+                .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
+                .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+                .enable(JsonReadFeature.ALLOW_YAML_COMMENTS)
+                .enable(JsonReadFeature.ALLOW_LEADING_DECIMAL_POINT_FOR_NUMBERS)
+                .enable(JsonReadFeature.ALLOW_TRAILING_DECIMAL_POINT_FOR_NUMBERS)
+                .enable(JsonReadFeature.ALLOW_LEADING_PLUS_SIGN_FOR_NUMBERS)
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .streamReadConstraints(constraints)
+                .recyclerPool(recyclerPool)
+                .build();
+        // SnakeYAML checks its own limits while reading, before Jackson sees any token
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setNestingDepthLimit(constraints.getMaxNestingDepth());
+        if (constraints.hasMaxDocumentLength()) {
+            loaderOptions.setCodePointLimit((int) Math.min(constraints.getMaxDocumentLength(), Integer.MAX_VALUE));
+        }
+        yamlFactory = YAMLFactory.builder()
+                .loaderOptions(loaderOptions)
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .streamReadConstraints(constraints)
+                .recyclerPool(recyclerPool)
+                .build();
+        tomlFactory = TomlFactory.builder()
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .streamReadConstraints(constraints)
+                .recyclerPool(recyclerPool)
+                .build();
+        tomlTreeFactory = com.fasterxml.jackson.dataformat.toml.TomlFactory.builder()
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .streamReadConstraints(constraints)
+                .recyclerPool(recyclerPool)
+                .build();
+        hoconFactory = HoconFactory.builder()
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .streamReadConstraints(constraints)
+                .recyclerPool(recyclerPool)
+                .build();
+    }
+
+    /**
+     * Returns the limits configured by the given options, or the system properties, or the defaults.
+     */
+    static StreamReadConstraints constraints(Map<String, ?> options) {
+        int maxStringLength = (int) getLong(options, MAX_STRING_LENGTH, DEFAULT_MAX_STRING_LENGTH);
+        return StreamReadConstraints.builder()
+                .maxNestingDepth((int) getLong(options, MAX_DEPTH, DEFAULT_MAX_DEPTH))
+                .maxDocumentLength(getLong(options, MAX_DOCUMENT_LENGTH, DEFAULT_MAX_DOCUMENT_LENGTH))
+                .maxStringLength(maxStringLength)
+                .maxNameLength(maxStringLength)
+                .maxTokenCount(getLong(options, MAX_TOKENS, DEFAULT_MAX_TOKENS))
+                .build();
+    }
+
     @Override
     public Optional<Source> locate(Path dir) {
-        for (String ext : new String[] {".json", ".yaml", ".yml", ".toml", ".hocon", ".conf"}) {
+        for (String ext : EXTENSIONS) {
             Path path = dir.resolve("pom" + ext);
             if (path.toFile().exists()) {
+                PomWatcher watcher = pomWatcher(Map.of());
+                if (watcher != null) {
+                    watcher.register(dir);
+                }
                 return Optional.of(Sources.fromPath(path));
             }
         }
         return Optional.empty();
     }
 
-    private JsonFactory createFactory(Source source) {
+    private JsonFactory createFactory(Source source, Map<String, ?> options) {
+        Object format = options.get(FORMAT);
+        if (format != null) {
+            JsonFactory factory = factory(format.toString().toLowerCase(Locale.ROOT));
+            if (factory == null) {
+                throw new ModelParserException("Unsupported format: " + format);
+            }
+            return factory;
+        }
         if (source.getPath() != null) {
-            String path = source.getPath().toString().toLowerCase();
-            if (path.endsWith(".json")) {
-                return JsonFactory.builder()
-                        .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
-                        .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
-                        .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
-                        .enable(JsonReadFeature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER)
-                        .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
-                        .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
-                        .enable(JsonReadFeature.ALLOW_YAML_COMMENTS)
-                        .enable(JsonReadFeature.ALLOW_LEADING_DECIMAL_POINT_FOR_NUMBERS)
-                        .enable(JsonReadFeature.ALLOW_TRAILING_DECIMAL_POINT_FOR_NUMBERS)
-                        .enable(JsonReadFeature.ALLOW_LEADING_PLUS_SIGN_FOR_NUMBERS)
-                        .build();
-            } else if (path.endsWith(".yaml") || path.endsWith(".yml")) {
-                return YAMLFactory.builder().build();
-            } else if (path.endsWith(".toml")) {
-                return TomlFactory.builder().build();
-            } else if (path.endsWith(".hocon") || path.endsWith(".conf")) {
-                return HoconFactory.builder().withSourcePath(path).build();
-            } else {
+            String path = source.getPath().toString().toLowerCase(Locale.ROOT);
+            JsonFactory factory = factory(path.substring(path.lastIndexOf('.') + 1));
+            if (factory == null) {
                 throw new ModelParserException("Unsupported file extension: " + path);
             }
+            return factory;
+        }
+        if (source instanceof ByteSource bytes) {
+            String detected = FormatDetector.detect(bytes.content());
+            if (detected != null) {
+                return factory(detected);
+            }
+        }
+        throw new ModelParserException("Cannot detect the format of "
+                + (source.getLocation() != null ? source.getLocation() : "the document")
+                + ", use the " + FORMAT + " option");
+    }
+
+    private JsonFactory factory(String format) {
+        return switch (format) {
+            case "json" -> jsonFactory;
+            case "yaml", "yml" -> yamlFactory;
+            case "toml" -> tomlFactory;
+            case "hocon", "conf" -> hoconFactory;
+            default -> null;
+        };
+    }
+
+    /**
+     * Reads a source without path nor {@link #FORMAT} option in memory, for its format to be detected.
+     */
+    private static Source buffered(Source source, Map<String, ?> options) throws IOException {
+        if (source.getPath() != null || source instanceof ByteSource || options.get(FORMAT) != null) {
+            return source;
         }
-        throw new ModelParserException("Only file based sources are supported");
+        try (InputStream is = source.openStream()) {
+            return new ByteSource(ByteBuffer.wrap(is.readAllBytes()), source.getLocation());
+        }
+    }
+
+    /**
+     * Parses a document held in memory, heap or direct, without copying it. Its format is given by
+     * the {@link #FORMAT} option or detected from its first bytes.
+     */
+    public Model parse(ByteBuffer content, Map<String, ?> options) throws ModelParserException {
+        return parse(new ByteSource(content, null), options);
+    }
+
+    /**
+     * Parses a document held in memory. Its format is given by the {@link #FORMAT} option or detected
+     * from its first bytes.
+     */
+    public Model parse(byte[] content, Map<String, ?> options) throws ModelParserException {
+        return parse(ByteBuffer.wrap(content), options);
     }
 
     @Override
     public Model parse(Source source, Map<String, ?> options) throws ModelParserException {
+        boolean watch = getBoolean(options, WATCH_POMS, false);
+        if (watch) {
+            pomWatcher(options);
+        }
+        if (source.getPath() != null && (watch || getBoolean(options, CACHE_MODELS, false))) {
+            String variant = isStrict(options) + ","
+                    + getBoolean(options, INTERN_XML_NODES, false) + ","
+                    + getBoolean(options, INTERN_STRINGS, false) + ","
+                    + getBoolean(options, INTERN_ELEMENTS, false) + ","
+                    + getBoolean(options, LAZY_XML_NODES, false) + ","
+                    + getBoolean(options, LOCATION_TRACKING, true) + ","
+                    + getBoolean(options, INTERPOLATION_TEMPLATES, false) + ","
+                    + options.get(FORMAT);
+            modelCache.setLimits(
+                    (int) Math.min(getLong(options, CACHE_HOT_MODELS, Integer.MAX_VALUE), Integer.MAX_VALUE),
+                    getLong(options, CACHE_COLD_BYTES, Long.MAX_VALUE));
+            try {
+                return modelCache.get(
+                        source.getPath(),
+                        variant,
+                        is -> doParse(source, is, options, false),
+                        getBoolean(options, INCREMENTAL, false));
+            } catch (IOException e) {
+                throw failure(source, e);
+            }
+        }
         try {
-            JsonFactory factory = createFactory(source);
-            MavenJsonReader reader = new MavenJsonReader(factory);
-            try (InputStream is = source.openStream()) {
-                boolean strict =
-                        options.containsKey(ModelParser.STRICT) ? (Boolean) options.get(ModelParser.STRICT) : true;
-                InputSource inputSource = new InputSource(
-                        source.getLocation(),
-                        source.getPath() != null ? source.getPath().toString() : null);
-                return reader.read(is, strict, inputSource);
+            Source buffered = buffered(source, options);
+            try (InputStream is = buffered.openStream()) {
+                return doParse(buffered, is, options, false);
             }
         } catch (IOException e) {
-            String location = source.getLocation();
-            String path = source.getPath() != null ? source.getPath().toString() : location;
-            throw new ModelParserException("Failed to parse " + path + ": " + e.getMessage(), e);
+            throw failure(source, e);
+        }
+    }
+
+    /**
+     * Statistics of the cache of parsed models.
+     *
+     * @param hits the number of models reused, whether live or inflated
+     * @param misses the number of models parsed
+     * @param parseTime the time spent parsing models
+     * @param inflations the number of compressed models inflated
+     * @param inflateTime the time spent inflating models
+     * @param deflations the number of live models compressed
+     * @param deflateTime the time spent compressing models
+     * @param drops the number of compressed models dropped
+     * @param hotModels the number of live models
+     * @param coldModels the number of compressed models
+     * @param coldBytes the size of the compressed models
+     */
+    public record CacheStatistics(
+            long hits,
+            long misses,
+            Duration parseTime,
+            long inflations,
+            Duration inflateTime,
+            long deflations,
+            Duration deflateTime,
+            long drops,
+            int hotModels,
+            int coldModels,
+            long coldBytes) {}
+
+    /**
+     * Returns the statistics of the cache used by {@link #CACHE_MODELS} and {@link #WATCH_POMS}.
+     */
+    public CacheStatistics cacheStatistics() {
+        return new CacheStatistics(
+                modelCache.hits() + modelCache.checkedHits() + modelCache.fingerprintHits(),
+                modelCache.misses(),
+                Duration.ofNanos(modelCache.parseNanos()),
+                modelCache.inflations(),
+                Duration.ofNanos(modelCache.inflateNanos()),
+                modelCache.deflations(),
+                Duration.ofNanos(modelCache.deflateNanos()),
+                modelCache.drops(),
+                modelCache.hotModels(),
+                modelCache.coldModels(),
+                modelCache.coldBytes());
+    }
+
+    /**
+     * Reads only the header of the given POM: its parent, coordinates, packaging and subprojects, which is
+     * all a reactor needs to be discovered and sorted. Every other section is skipped without being built,
+     * and reading stops as soon as all the header fields have been found, so that the returned model has
+     * no dependencies, build, profiles nor properties. Header models are never cached.
+     */
+    public Model parseHeader(Source source, Map<String, ?> options) throws ModelParserException {
+        try {
+            Source buffered = buffered(source, options);
+            try (InputStream is = buffered.openStream()) {
+                return doParse(buffered, is, options, true);
+            }
+        } catch (IOException e) {
+            throw failure(source, e);
+        }
+    }
+
+    /**
+     * Streams the dependencies, plugins and other elements of the given POM to a visitor, without building
+     * a model, for tools sweeping many POMs. TOML documents defining a table in several places cannot be
+     * streamed and fail with a {@link NonContiguousTableException} cause.
+     */
+    public void scan(Source source, MavenJsonScanner.Visitor visitor) throws ModelParserException {
+        scan(source, Map.of(), visitor);
+    }
+
+    /**
+     * Streams the elements of the given POM to a visitor, with the {@link #FORMAT} option.
+     */
+    public void scan(Source source, Map<String, ?> options, MavenJsonScanner.Visitor visitor)
+            throws ModelParserException {
+        try {
+            Source buffered = buffered(source, options);
+            try (InputStream is = buffered.openStream()) {
+                new MavenJsonScanner(createFactory(buffered, options)).scan(is, visitor);
+            }
+        } catch (IOException e) {
+            throw failure(source, e);
+        }
+    }
+
+    /**
+     * Returns a feeder parsing the given POM from bytes pushed as they arrive, for instance from an
+     * asynchronous channel, instead of reading them from {@link Source#openStream()}. The source only
+     * provides the format and the location of the document. Fed models are never cached.
+     * <p>
+     * Without path nor {@link #FORMAT} option, the document is buffered and its format detected once complete.
+     */
+    public ModelFeeder feeder(Source source, Map<String, ?> options) throws ModelParserException {
+        if (source.getPath() == null && options.get(FORMAT) == null) {
+            return new ModelFeeder(
+                    source,
+                    jsonFactory.streamReadConstraints(),
+                    is -> parse(new ByteSource(ByteBuffer.wrap(is.readAllBytes()), source.getLocation()), options));
+        }
+        JsonFactory factory = createFactory(source, options);
+        if (factory == jsonFactory) {
+            try {
+                return new ModelFeeder(
+                        source,
+                        jsonFactory.createNonBlockingByteBufferParser(),
+                        getBoolean(options, LOCATION_TRACKING, true),
+                        parser -> createReader(jsonFactory, options, false)
+                                .read(parser, isStrict(options), inputSource(source)));
+            } catch (IOException e) {
+                throw failure(source, e);
+            }
+        }
+        return new ModelFeeder(
+                source, factory.streamReadConstraints(), is -> doParse(source, is, options, false));
+    }
+
+    private Model doParse(Source source, InputStream is, Map<String, ?> options, boolean headerOnly)
+            throws ModelParserException {
+        try {
+            JsonFactory factory = createFactory(source, options);
+            InputSource inputSource = inputSource(source);
+            if (factory instanceof TomlFactory) {
+                // only streams over documents already in memory are marked: a mark on any other stream
+                // would buffer the whole document for a fallback most documents never need
+                boolean inMemory = is instanceof ByteSource.BufferStream || is instanceof ByteArrayInputStream;
+                if (inMemory) {
+                    is.mark(Integer.MAX_VALUE);
+                }
+                try {
+                    return createReader(factory, options, headerOnly).read(is, isStrict(options), inputSource);
+                } catch (NonContiguousTableException e) {
+                    // tables defined in several places cannot be streamed: read the document again as a tree
+                    MavenJsonReader reader = createReader(tomlTreeFactory, options, headerOnly);
+                    if (inMemory) {
+                        is.reset();
+                        return reader.read(is, isStrict(options), inputSource);
+                    }
+                    try (InputStream again = source.openStream()) {
+                        return reader.read(again, isStrict(options), inputSource);
+                    }
+                }
+            }
+            return createReader(factory, options, headerOnly).read(is, isStrict(options), inputSource);
+        } catch (IOException e) {
+            throw failure(source, e);
+        }
+    }
+
+    private MavenJsonReader createReader(JsonFactory factory, Map<String, ?> options, boolean headerOnly) {
+        MavenJsonReader reader = new MavenJsonReader(factory);
+        reader.setHeaderOnly(headerOnly);
+        reader.setAddLocationInformation(getBoolean(options, LOCATION_TRACKING, true));
+        if (getBoolean(options, INTERN_XML_NODES, false)) {
+            reader.setXmlNodeInterner(xmlNodeInterner);
+        }
+        if (getBoolean(options, INTERN_STRINGS, false)) {
+            reader.setStringInterner(stringInterner);
+        }
+        if (getBoolean(options, INTERN_ELEMENTS, false)) {
+            reader.setModelElementInterner(modelElementInterner);
+        }
+        reader.setLazyXmlNodes(getBoolean(options, LAZY_XML_NODES, false));
+        if (getBoolean(options, INTERPOLATION_TEMPLATES, false)) {
+            reader.setInterpolationTemplates(interpolationTemplates);
+        }
+        return reader;
+    }
+
+    BufferRecyclerPool recyclerPool() {
+        return recyclerPool;
+    }
+
+    private static InputSource inputSource(Source source) {
+        return new InputSource(
+                source.getLocation(), source.getPath() != null ? source.getPath().toString() : null);
+    }
+
+    static ModelParserException failure(Source source, IOException e) {
+        String location = source.getLocation() != null ? source.getLocation() : "in-memory document";
+        String path = source.getPath() != null ? source.getPath().toString() : location;
+        return new ModelParserException("Failed to parse " + path + ": " + e.getMessage(), e);
+    }
+
+    private static boolean isStrict(Map<String, ?> options) {
+        return options.containsKey(ModelParser.STRICT) ? (Boolean) options.get(ModelParser.STRICT) : true;
+    }
+
+    /**
+     * Returns the watcher, started on first use if {@link #WATCH_POMS} is enabled, or {@code null}.
+     */
+    private PomWatcher pomWatcher(Map<String, ?> options) {
+        PomWatcher watcher = pomWatcher;
+        if (watcher == null && getBoolean(options, WATCH_POMS, false)) {
+            synchronized (this) {
+                watcher = pomWatcher;
+                if (watcher == null && !pomWatcherFailed) {
+                    try {
+                        watcher = new PomWatcher(modelCache::invalidate);
+                        modelCache.setWatcher(watcher);
+                        pomWatcher = watcher;
+                    } catch (IOException e) {
+                        // no watch service: cached models are checked against file attributes
+                        pomWatcherFailed = true;
+                    }
+                }
+            }
+        }
+        return watcher;
+    }
+
+    private static long getLong(Map<String, ?> options, String key, long defaultValue) {
+        Object value = options.get(key);
+        if (value == null) {
+            value = System.getProperty(key);
+        }
+        return value != null ? Long.parseLong(value.toString().trim()) : defaultValue;
+    }
+
+    private static boolean getBoolean(Map<String, ?> options, String key, boolean defaultValue) {
+        Object value = options.get(key);
+        if (value == null) {
+            value = System.getProperty(key);
         }
+        return value != null ? Boolean.parseBoolean(value.toString()) : defaultValue;
     }
 }
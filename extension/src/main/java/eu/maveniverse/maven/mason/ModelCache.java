@@ -0,0 +1,476 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.apache.maven.api.model.Model;
+
+/**
+ * Cache of the models parsed from files, for parsers living across builds (mvnd, IDEs).
+ * <p>
+ * A cached model is reused if the file still has the size and modification time it had when it was read.
+ * When a {@link PomWatcher} is attached, models of files in watched directories are reused without
+ * touching the file system as long as no event was reported for their directory since they were read;
+ * after an event or an overflow, the cache falls back to attribute checks.
+ * <p>
+ * When the attributes changed, the file is read once while computing its CRC32C fingerprint: if the
+ * content is unchanged (git checkouts, restored CI caches, touched files), the cached model is still
+ * reused; otherwise the model is parsed from the bytes already read and, when incremental, reconciled
+ * with the previous one by {@link ModelReconciler}, provided the previous one is live.
+ * <p>
+ * Models are kept in two tiers. The hot tier holds live models, up to a number of models: beyond it, the
+ * least recently used ones are encoded by {@link MavenBinaryCodec} and deflated into byte arrays, which
+ * take a fraction of their footprint, and form the cold tier. A cold model is inflated back into the hot
+ * tier when next reused, which is much cheaper than parsing its file again; an inflated model is a copy,
+ * sharing no instance with the interners or with models returned before. For the same reason, a changed
+ * file whose previous model is cold is parsed without reconciliation: reusing the elements of a copy
+ * would not keep the caches keyed by their identity hitting. The cold tier holds up to a number of bytes:
+ * beyond it, the least recently demoted models are dropped, and parsed again when next needed. Both tiers
+ * are unbounded by default.
+ */
+final class ModelCache {
+
+    interface Loader {
+        Model load(InputStream content) throws IOException;
+    }
+
+    private record Entry(
+            String variant, Slot slot, FileTime modified, long size, long fingerprint, long generation) {
+        Entry with(FileTime modified, long generation) {
+            return new Entry(variant, slot, modified, size, fingerprint, generation);
+        }
+    }
+
+    /**
+     * Holds a parsed model, either live or compressed, or neither once dropped. Guarded by the tiers.
+     */
+    private static final class Slot {
+        final Path file;
+        Model live;
+        byte[] compressed;
+        /** The length of the encoded model, once inflated. */
+        int length;
+
+        Slot(Path file, Model live) {
+            this.file = file;
+            this.live = live;
+        }
+    }
+
+    private static final MavenBinaryCodec CODEC = new MavenBinaryCodec();
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder checkedHits = new LongAdder();
+    private final LongAdder fingerprintHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reconciled = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder inflations = new LongAdder();
+    private final LongAdder inflateNanos = new LongAdder();
+    private final LongAdder deflations = new LongAdder();
+    private final LongAdder deflateNanos = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    // the tiers, least recently used and least recently demoted first, guarded by hot
+    private final LinkedHashMap<Slot, Boolean> hot = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Slot, Boolean> cold = new LinkedHashMap<>();
+    private long coldBytes;
+    private volatile int maxHotModels = Integer.MAX_VALUE;
+    private volatile long maxColdBytes = Long.MAX_VALUE;
+    private volatile PomWatcher watcher;
+
+    /**
+     * Attaches a watcher: its events invalidate cached models, and models of files in watched
+     * directories no longer need attribute checks.
+     */
+    void setWatcher(PomWatcher watcher) {
+        this.watcher = watcher;
+    }
+
+    /**
+     * Sets the maximum number of live models, and the maximum number of bytes of compressed models.
+     */
+    void setLimits(int maxHotModels, long maxColdBytes) {
+        this.maxHotModels = maxHotModels;
+        this.maxColdBytes = maxColdBytes;
+    }
+
+    /**
+     * Returns the model cached for the given file and variant if still valid, or loads and caches it.
+     * The variant identifies the options the model was parsed with. When incremental, a model loaded
+     * again reuses the unchanged elements of the previous one.
+     */
+    Model get(Path path, String variant, Loader loader, boolean incremental) throws IOException {
+        Path file = path.toAbsolutePath().normalize();
+        PomWatcher watcher = this.watcher;
+        if (watcher != null) {
+            watcher.register(file.getParent());
+        }
+        // read before the file, so that an event racing with the read invalidates the entry
+        long generation = watcher != null ? watcher.generation(file.getParent()) : -1;
+        Entry entry = entries.get(file);
+        if (entry != null && !entry.variant().equals(variant)) {
+            entry = null;
+        }
+        if (entry != null && generation >= 0 && entry.generation() == generation) {
+            Model model = model(entry.slot());
+            if (model != null) {
+                hits.increment();
+                return model;
+            }
+            entry = null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (entry != null
+                && attributes.size() == entry.size()
+                && attributes.lastModifiedTime().equals(entry.modified())) {
+            Model model = model(entry.slot());
+            if (model != null) {
+                entries.replace(file, entry, entry.with(entry.modified(), generation));
+                checkedHits.increment();
+                return model;
+            }
+            entry = null;
+        }
+        byte[] content;
+        long fingerprint;
+        try (CheckedInputStream is = new CheckedInputStream(Files.newInputStream(file), new CRC32C())) {
+            content = is.readAllBytes();
+            fingerprint = fingerprint(content.length, is.getChecksum().getValue());
+        }
+        if (entry != null && entry.fingerprint() == fingerprint) {
+            Model model = model(entry.slot());
+            if (model != null) {
+                entries.replace(file, entry, entry.with(attributes.lastModifiedTime(), generation));
+                fingerprintHits.increment();
+                return model;
+            }
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        Model model = loader.load(new ByteArrayInputStream(content));
+        parseNanos.add(System.nanoTime() - start);
+        // an inflated model shares no instance with the new one: only reconcile with a live one
+        Model previous = entry != null ? live(entry.slot()) : null;
+        if (incremental && previous != null) {
+            model = ModelReconciler.reconcile(previous, model);
+            reconciled.increment();
+        }
+        Slot slot = new Slot(file, model);
+        Entry replaced = entries.put(
+                file,
+                new Entry(variant, slot, attributes.lastModifiedTime(), attributes.size(), fingerprint, generation));
+        synchronized (hot) {
+            if (replaced != null) {
+                drop(replaced.slot());
+            }
+            hot.put(slot, Boolean.TRUE);
+        }
+        demote();
+        return model;
+    }
+
+    private Model live(Slot slot) {
+        synchronized (hot) {
+            return slot.live;
+        }
+    }
+
+    /**
+     * Returns the model of a slot, inflating it into the hot tier if it is cold, or {@code null} if it has
+     * been dropped.
+     */
+    private Model model(Slot slot) {
+        byte[] bytes;
+        synchronized (hot) {
+            if (slot.live != null) {
+                // also brings back a model being demoted
+                hot.put(slot, Boolean.TRUE);
+                return slot.live;
+            }
+            bytes = slot.compressed;
+        }
+        if (bytes == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Model model = inflate(bytes, slot.length);
+        inflateNanos.add(System.nanoTime() - start);
+        inflations.increment();
+        synchronized (hot) {
+            if (slot.live != null) {
+                // inflated concurrently
+                hot.put(slot, Boolean.TRUE);
+                return slot.live;
+            }
+            if (slot.compressed != bytes || model == null) {
+                // dropped meanwhile, or unreadable
+                return null;
+            }
+            cold.remove(slot);
+            coldBytes -= bytes.length;
+            slot.compressed = null;
+            slot.live = model;
+            hot.put(slot, Boolean.TRUE);
+        }
+        demote();
+        return model;
+    }
+
+    /**
+     * Moves the least recently used models beyond the hot tier limit to the cold tier, then drops the
+     * least recently demoted ones beyond the cold tier limit. Models are compressed outside of the lock.
+     */
+    private void demote() {
+        while (true) {
+            Slot slot;
+            Model model;
+            synchronized (hot) {
+                if (hot.size() <= maxHotModels) {
+                    break;
+                }
+                Iterator<Slot> eldest = hot.keySet().iterator();
+                slot = eldest.next();
+                eldest.remove();
+                model = slot.live;
+            }
+            long start = System.nanoTime();
+            byte[] encoded = encode(model);
+            byte[] bytes = encoded != null ? deflate(encoded) : null;
+            deflateNanos.add(System.nanoTime() - start);
+            deflations.increment();
+            List<Slot> dropped = new ArrayList<>();
+            synchronized (hot) {
+                if (hot.containsKey(slot) || slot.live != model) {
+                    // reused or replaced meanwhile
+                    continue;
+                }
+                slot.live = null;
+                if (bytes == null) {
+                    dropped.add(slot);
+                } else {
+                    slot.compressed = bytes;
+                    slot.length = encoded.length;
+                    cold.put(slot, Boolean.TRUE);
+                    coldBytes += bytes.length;
+                }
+                Iterator<Slot> eldest = cold.keySet().iterator();
+                while (coldBytes > maxColdBytes && eldest.hasNext()) {
+                    Slot coldest = eldest.next();
+                    eldest.remove();
+                    coldBytes -= coldest.compressed.length;
+                    coldest.compressed = null;
+                    dropped.add(coldest);
+                }
+            }
+            for (Slot s : dropped) {
+                drops.increment();
+                entries.computeIfPresent(s.file, (file, entry) -> entry.slot() == s ? null : entry);
+            }
+        }
+    }
+
+    /**
+     * Removes a slot from its tier. Called with the tiers locked.
+     */
+    private void drop(Slot slot) {
+        hot.remove(slot);
+        if (cold.remove(slot) != null) {
+            coldBytes -= slot.compressed.length;
+        }
+        slot.live = null;
+        slot.compressed = null;
+    }
+
+    /**
+     * Encodes a model, returning {@code null} if it cannot be, for instance when building a lazy
+     * configuration fails.
+     */
+    private static byte[] encode(Model model) {
+        try {
+            return CODEC.encode(model);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static byte[] deflate(byte[] encoded) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(encoded);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length / 2 + 64);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflates and decodes a model, returning {@code null} if it cannot be read back.
+     */
+    private static Model inflate(byte[] bytes, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            byte[] encoded = new byte[length];
+            int size = 0;
+            while (size < length && !inflater.finished()) {
+                int n = inflater.inflate(encoded, size, length - size);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return null;
+                }
+                size += n;
+            }
+            return size == length ? CODEC.decode(encoded) : null;
+        } catch (DataFormatException | IOException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Combines the CRC32C of the content with its length, so that a collision also needs equal lengths.
+     */
+    static long fingerprint(int length, long crc) {
+        return ((long) length << 32) | (crc & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Forces the next lookup of the given file to check its content, whatever its attributes.
+     */
+    void invalidate(Path path) {
+        entries.computeIfPresent(path.toAbsolutePath().normalize(), (file, entry) -> entry.with(null, -1));
+    }
+
+    void clear() {
+        entries.clear();
+        synchronized (hot) {
+            hot.clear();
+            cold.clear();
+            coldBytes = 0;
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Number of models reused on the word of the watcher.
+     */
+    long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of models reused after checking the file attributes.
+     */
+    long checkedHits() {
+        return checkedHits.sum();
+    }
+
+    /**
+     * Number of models reused because the content was unchanged although the attributes were not.
+     */
+    long fingerprintHits() {
+        return fingerprintHits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Total time spent parsing models on misses, in nanoseconds.
+     */
+    long parseNanos() {
+        return parseNanos.sum();
+    }
+
+    /**
+     * Number of cold models inflated back into the hot tier.
+     */
+    long inflations() {
+        return inflations.sum();
+    }
+
+    long inflateNanos() {
+        return inflateNanos.sum();
+    }
+
+    /**
+     * Number of hot models compressed into the cold tier.
+     */
+    long deflations() {
+        return deflations.sum();
+    }
+
+    long deflateNanos() {
+        return deflateNanos.sum();
+    }
+
+    /**
+     * Number of models dropped from the cold tier, or which could not be compressed.
+     */
+    long drops() {
+        return drops.sum();
+    }
+
+    int hotModels() {
+        synchronized (hot) {
+            return hot.size();
+        }
+    }
+
+    int coldModels() {
+        synchronized (hot) {
+            return cold.size();
+        }
+    }
+
+    long coldBytes() {
+        synchronized (hot) {
+            return coldBytes;
+        }
+    }
+
+    /**
+     * Number of models reconciled with the previous model of their file.
+     */
+    long reconciled() {
+        return reconciled.sum();
+    }
+}
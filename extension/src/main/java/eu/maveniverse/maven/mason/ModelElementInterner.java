@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Exclusion;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.PluginExecution;
+import org.apache.maven.api.xml.XmlNode;
+
+/**
+ * Weakly referenced intern table sharing {@link Dependency}, {@link Exclusion} and {@link Plugin}
+ * instances with identical content, such as the same test dependency or the same unconfigured plugin
+ * declared by hundreds of modules.
+ * <p>
+ * Model elements do not define a content based equality ({@link Plugin#equals(Object)} only compares
+ * coordinates), so each element is looked up by a key made of all its fields, nested elements included.
+ * Input locations are not part of the key: elements must only be interned when they carry none, as the
+ * canonical instance would otherwise report the locations of its first occurrence. Plugins with a
+ * {@link LazyXmlNode} configuration are never interned, as comparing it would build it.
+ * <p>
+ * Like {@link XmlNodeInterner}, the table is split in independently locked stripes, and entries vanish
+ * once no model references their element anymore. Each stripe holds at most {@link #MAX_STRIPE_SIZE}
+ * elements, beyond which new elements are returned as they are.
+ */
+public class ModelElementInterner {
+
+    static final int MAX_STRIPE_SIZE = 4096;
+
+    private static final int STRIPES = 16;
+
+    @SuppressWarnings("unchecked")
+    private final Map<Object, KeyedReference>[] stripes = new Map[STRIPES];
+
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    public ModelElementInterner() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * Returns the canonical instance with the same content as the given dependency.
+     */
+    public Dependency intern(Dependency dependency) {
+        return dependency != null ? intern(key(dependency), dependency) : null;
+    }
+
+    /**
+     * Returns the canonical instance with the same content as the given exclusion.
+     */
+    public Exclusion intern(Exclusion exclusion) {
+        return exclusion != null ? intern(key(exclusion), exclusion) : null;
+    }
+
+    /**
+     * Returns the canonical instance with the same content as the given plugin.
+     */
+    public Plugin intern(Plugin plugin) {
+        if (plugin == null || isLazy(plugin)) {
+            return plugin;
+        }
+        return intern(key(plugin), plugin);
+    }
+
+    /**
+     * Returns the number of canonical elements currently retained.
+     */
+    public int size() {
+        expungeStaleEntries();
+        int size = 0;
+        for (Map<Object, KeyedReference> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private <T> T intern(Object key, T element) {
+        expungeStaleEntries();
+        Map<Object, KeyedReference> stripe = stripe(key);
+        synchronized (stripe) {
+            KeyedReference ref = stripe.get(key);
+            Object canonical = ref != null ? ref.get() : null;
+            if (canonical != null) {
+                @SuppressWarnings("unchecked")
+                T t = (T) canonical;
+                return t;
+            }
+            if (ref != null || stripe.size() < MAX_STRIPE_SIZE) {
+                stripe.put(key, new KeyedReference(element, key, queue));
+            }
+            return element;
+        }
+    }
+
+    private Map<Object, KeyedReference> stripe(Object key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private void expungeStaleEntries() {
+        KeyedReference ref;
+        while ((ref = (KeyedReference) queue.poll()) != null) {
+            Map<Object, KeyedReference> stripe = stripe(ref.key);
+            synchronized (stripe) {
+                stripe.remove(ref.key, ref);
+            }
+        }
+    }
+
+    static boolean isLazy(Plugin plugin) {
+        if (plugin.getConfiguration() instanceof LazyXmlNode) {
+            return true;
+        }
+        for (PluginExecution execution : plugin.getExecutions()) {
+            if (execution.getConfiguration() instanceof LazyXmlNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ExclusionKey key(Exclusion exclusion) {
+        return new ExclusionKey(exclusion.getGroupId(), exclusion.getArtifactId());
+    }
+
+    static DependencyKey key(Dependency dependency) {
+        List<ExclusionKey> exclusions = new ArrayList<>(dependency.getExclusions().size());
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            exclusions.add(key(exclusion));
+        }
+        return new DependencyKey(
+                dependency.getGroupId(),
+                dependency.getArtifactId(),
+                dependency.getVersion(),
+                dependency.getType(),
+                dependency.getClassifier(),
+                dependency.getScope(),
+                dependency.getSystemPath(),
+                dependency.getOptional(),
+                exclusions);
+    }
+
+    static ExecutionKey key(PluginExecution execution) {
+        return new ExecutionKey(
+                execution.getId(),
+                execution.getPhase(),
+                execution.getPriority(),
+                execution.getGoals(),
+                execution.getInherited(),
+                execution.getConfiguration());
+    }
+
+    static PluginKey key(Plugin plugin) {
+        List<ExecutionKey> executions = new ArrayList<>(plugin.getExecutions().size());
+        for (PluginExecution execution : plugin.getExecutions()) {
+            executions.add(key(execution));
+        }
+        List<DependencyKey> dependencies = new ArrayList<>(plugin.getDependencies().size());
+        for (Dependency dependency : plugin.getDependencies()) {
+            dependencies.add(key(dependency));
+        }
+        return new PluginKey(
+                plugin.getGroupId(),
+                plugin.getArtifactId(),
+                plugin.getVersion(),
+                plugin.getExtensions(),
+                plugin.getInherited(),
+                plugin.getConfiguration(),
+                executions,
+                dependencies);
+    }
+
+    record ExclusionKey(String groupId, String artifactId) {}
+
+    record DependencyKey(
+            String groupId,
+            String artifactId,
+            String version,
+            String type,
+            String classifier,
+            String scope,
+            String systemPath,
+            String optional,
+            List<ExclusionKey> exclusions) {}
+
+    record ExecutionKey(
+            String id, String phase, int priority, List<String> goals, String inherited, XmlNode configuration) {}
+
+    record PluginKey(
+            String groupId,
+            String artifactId,
+            String version,
+            String extensions,
+            String inherited,
+            XmlNode configuration,
+            List<ExecutionKey> executions,
+            List<DependencyKey> dependencies) {}
+
+    /**
+     * Weak reference to a canonical element, remembering its key to be removed once the element is collected.
+     */
+    private static final class KeyedReference extends WeakReference<Object> {
+        final Object key;
+
+        KeyedReference(Object element, Object key, ReferenceQueue<Object> queue) {
+            super(element, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Source;
+import org.apache.maven.api.spi.ModelParserException;
+
+/**
+ * Parses a POM from bytes pushed as they arrive, for instance from an {@code AsynchronousFileChannel}
+ * or a network event loop, so that a single thread can drive many parses without ever blocking on a stream.
+ * Feeders are created by {@link MasonParser#feeder(Source, java.util.Map)}.
+ * <p>
+ * JSON documents are tokenized as the bytes are fed by a non-blocking Jackson parser, which records the
+ * tokens on a {@link TokenTape}: syntax errors and read limits are reported by the call feeding the faulty
+ * bytes, and {@link #complete()} only replays the tape to build the model. Other formats are buffered and
+ * read on completion: SnakeYAML and the TOML and HOCON scanners cannot suspend in the middle of a token,
+ * and neither a HOCON document with an implicit root object nor a TOML document reopening a table can be
+ * interpreted before its end anyway. Their bytes are still checked against the document length limit
+ * while they are buffered.
+ * <p>
+ * Feeders are not thread safe, but need not be confined to a thread: calls only have to be ordered.
+ */
+public final class ModelFeeder implements AutoCloseable {
+
+    interface TokenReader {
+        Model read(JsonParser parser) throws IOException;
+    }
+
+    private final Source source;
+    private final JsonParser parser;
+    private final TokenTape tape;
+    private final TokenReader tokenReader;
+    private final ModelCache.Loader loader;
+    private final StreamReadConstraints constraints;
+    private byte[] buffer;
+    private int size;
+    private boolean closed;
+
+    /**
+     * Creates a feeder recording the tokens of the given non-blocking parser.
+     */
+    ModelFeeder(Source source, JsonParser parser, boolean addLocationInformation, TokenReader tokenReader) {
+        this.source = source;
+        this.parser = parser;
+        this.tape = new TokenTape(addLocationInformation);
+        this.tokenReader = tokenReader;
+        this.loader = null;
+        this.constraints = null;
+    }
+
+    /**
+     * Creates a feeder buffering the bytes until the document is complete.
+     */
+    ModelFeeder(Source source, StreamReadConstraints constraints, ModelCache.Loader loader) {
+        this.source = source;
+        this.parser = null;
+        this.tape = null;
+        this.tokenReader = null;
+        this.loader = loader;
+        this.constraints = constraints;
+        this.buffer = new byte[8192];
+    }
+
+    /**
+     * Feeds the given bytes.
+     */
+    public void feed(byte[] data, int offset, int length) throws ModelParserException {
+        feed(ByteBuffer.wrap(data, offset, length));
+    }
+
+    /**
+     * Feeds the remaining bytes of the given buffer, which are all consumed: the buffer can be reused
+     * as soon as this method returns.
+     */
+    public void feed(ByteBuffer data) throws ModelParserException {
+        if (closed) {
+            throw new IllegalStateException("Feeder is closed");
+        }
+        try {
+            if (parser != null) {
+                ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(data);
+                drain();
+                data.position(data.limit());
+            } else {
+                int length = data.remaining();
+                constraints.validateDocumentLength((long) size + length);
+                if (size + length > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + length));
+                }
+                data.get(buffer, size, length);
+                size += length;
+            }
+        } catch (IOException e) {
+            close();
+            throw MasonParser.failure(source, e);
+        }
+    }
+
+    /**
+     * Signals the end of the document and returns its model. The feeder is closed afterwards.
+     */
+    public Model complete() throws ModelParserException {
+        if (closed) {
+            throw new IllegalStateException("Feeder is closed");
+        }
+        try {
+            if (parser != null) {
+                ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+                drain();
+                tape.trim();
+                return tokenReader.read(tape.replay(null, 0, tape.size()));
+            } else {
+                return loader.load(new ByteArrayInputStream(buffer, 0, size));
+            }
+        } catch (IOException e) {
+            throw MasonParser.failure(source, e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Discards the document, handing the buffers of the underlying parser back to its pool.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            buffer = null;
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (IOException e) {
+                    // nothing to release but buffers
+                }
+            }
+        }
+    }
+
+    /**
+     * Records all the tokens available from the bytes fed so far.
+     */
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            String text = null;
+            if (token == JsonToken.FIELD_NAME) {
+                text = parser.currentName();
+            } else if (token.isScalarValue()) {
+                text = parser.getText();
+            }
+            tape.add(token, text, parser);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.BuildBase;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Exclusion;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputLocationTracker;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.PluginExecution;
+import org.apache.maven.api.model.PluginManagement;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.xml.XmlNode;
+
+/**
+ * Reconciles the model re-parsed from a changed POM with its previous model, so that the dependencies,
+ * plugins, executions and configurations left unchanged are the previous instances, and caches keyed by
+ * their identity keep hitting. Containers are only copied when one of their elements was not reused.
+ * <p>
+ * Elements are matched on the content keys of {@link ModelElementInterner} and on their configurations,
+ * which compare equal when their content is. As reusing an element also reuses its input locations, the
+ * locations of both elements must be equal as well: with location tracking, elements following a change
+ * which shifts lines are new. Plugins and executions with a {@link LazyXmlNode} configuration are not
+ * compared, as it would build it.
+ * <p>
+ * The previous model must be the instance handed out before: {@link ModelCache} does not reconcile with a
+ * model inflated from its cold tier, which is a copy whose elements were never seen by any caller.
+ */
+final class ModelReconciler {
+
+    private final Map<ModelElementInterner.DependencyKey, List<Dependency>> dependencies = new HashMap<>();
+    private final Map<ModelElementInterner.PluginKey, List<Plugin>> plugins = new HashMap<>();
+    private final Map<ModelElementInterner.ExecutionKey, List<PluginExecution>> executions = new HashMap<>();
+    private final Map<XmlNode, List<XmlNode>> configurations = new HashMap<>();
+
+    private ModelReconciler(Model previous) {
+        collect(previous.getDependencies(), previous.getDependencyManagement(), previous.getBuild());
+        for (Profile profile : previous.getProfiles()) {
+            collect(profile.getDependencies(), profile.getDependencyManagement(), profile.getBuild());
+        }
+    }
+
+    /**
+     * Returns the given model, with the elements equal to those of the previous model replaced by them.
+     */
+    static Model reconcile(Model previous, Model model) {
+        return new ModelReconciler(previous).reconcile(model);
+    }
+
+    Model reconcile(Model model) {
+        List<Dependency> dependencies = reuse(model.getDependencies(), this::dependency);
+        if (dependencies != model.getDependencies()) {
+            model = model.withDependencies(dependencies);
+        }
+        DependencyManagement dependencyManagement = dependencyManagement(model.getDependencyManagement());
+        if (dependencyManagement != model.getDependencyManagement()) {
+            model = model.withDependencyManagement(dependencyManagement);
+        }
+        Build build = model.getBuild();
+        if (build != null) {
+            List<Plugin> plugins = reuse(build.getPlugins(), this::plugin);
+            PluginManagement pluginManagement = pluginManagement(build.getPluginManagement());
+            if (plugins != build.getPlugins() || pluginManagement != build.getPluginManagement()) {
+                model = model.withBuild(
+                        build.withPlugins(plugins).withPluginManagement(pluginManagement));
+            }
+        }
+        List<Profile> profiles = reuse(model.getProfiles(), this::profile);
+        if (profiles != model.getProfiles()) {
+            model = model.withProfiles(profiles);
+        }
+        return model;
+    }
+
+    private Profile profile(Profile profile) {
+        List<Dependency> dependencies = reuse(profile.getDependencies(), this::dependency);
+        if (dependencies != profile.getDependencies()) {
+            profile = profile.withDependencies(dependencies);
+        }
+        DependencyManagement dependencyManagement = dependencyManagement(profile.getDependencyManagement());
+        if (dependencyManagement != profile.getDependencyManagement()) {
+            profile = profile.withDependencyManagement(dependencyManagement);
+        }
+        BuildBase build = profile.getBuild();
+        if (build != null) {
+            List<Plugin> plugins = reuse(build.getPlugins(), this::plugin);
+            PluginManagement pluginManagement = pluginManagement(build.getPluginManagement());
+            if (plugins != build.getPlugins() || pluginManagement != build.getPluginManagement()) {
+                profile = profile.withBuild(
+                        build.withPlugins(plugins).withPluginManagement(pluginManagement));
+            }
+        }
+        return profile;
+    }
+
+    private DependencyManagement dependencyManagement(DependencyManagement dependencyManagement) {
+        if (dependencyManagement == null) {
+            return null;
+        }
+        List<Dependency> dependencies = reuse(dependencyManagement.getDependencies(), this::dependency);
+        return dependencies != dependencyManagement.getDependencies()
+                ? dependencyManagement.withDependencies(dependencies)
+                : dependencyManagement;
+    }
+
+    private PluginManagement pluginManagement(PluginManagement pluginManagement) {
+        if (pluginManagement == null) {
+            return null;
+        }
+        List<Plugin> plugins = reuse(pluginManagement.getPlugins(), this::plugin);
+        return plugins != pluginManagement.getPlugins() ? pluginManagement.withPlugins(plugins) : pluginManagement;
+    }
+
+    private Dependency dependency(Dependency dependency) {
+        for (Dependency candidate : dependencies.getOrDefault(ModelElementInterner.key(dependency), List.of())) {
+            if (sameLocations(candidate, dependency)) {
+                return candidate;
+            }
+        }
+        return dependency;
+    }
+
+    private Plugin plugin(Plugin plugin) {
+        if (ModelElementInterner.isLazy(plugin)) {
+            return plugin;
+        }
+        for (Plugin candidate : plugins.getOrDefault(ModelElementInterner.key(plugin), List.of())) {
+            if (sameLocations(candidate, plugin)) {
+                return candidate;
+            }
+        }
+        // changed: reuse what it contains
+        XmlNode configuration = configuration(plugin.getConfiguration());
+        if (configuration != plugin.getConfiguration()) {
+            plugin = plugin.withConfiguration(configuration);
+        }
+        List<PluginExecution> executions = reuse(plugin.getExecutions(), this::execution);
+        if (executions != plugin.getExecutions()) {
+            plugin = plugin.withExecutions(executions);
+        }
+        List<Dependency> dependencies = reuse(plugin.getDependencies(), this::dependency);
+        if (dependencies != plugin.getDependencies()) {
+            plugin = plugin.withDependencies(dependencies);
+        }
+        return plugin;
+    }
+
+    private PluginExecution execution(PluginExecution execution) {
+        for (PluginExecution candidate : executions.getOrDefault(ModelElementInterner.key(execution), List.of())) {
+            if (sameLocations(candidate, execution)) {
+                return candidate;
+            }
+        }
+        XmlNode configuration = configuration(execution.getConfiguration());
+        return configuration != execution.getConfiguration() ? execution.withConfiguration(configuration) : execution;
+    }
+
+    private XmlNode configuration(XmlNode configuration) {
+        if (configuration == null) {
+            return null;
+        }
+        for (XmlNode candidate : configurations.getOrDefault(configuration, List.of())) {
+            if (sameLocations(candidate, configuration)) {
+                return candidate;
+            }
+        }
+        return configuration;
+    }
+
+    private void collect(List<Dependency> dependencies, DependencyManagement dependencyManagement, BuildBase build) {
+        collectDependencies(dependencies);
+        if (dependencyManagement != null) {
+            collectDependencies(dependencyManagement.getDependencies());
+        }
+        if (build != null) {
+            collectPlugins(build.getPlugins());
+            if (build.getPluginManagement() != null) {
+                collectPlugins(build.getPluginManagement().getPlugins());
+            }
+        }
+    }
+
+    private void collectDependencies(List<Dependency> list) {
+        for (Dependency dependency : list) {
+            dependencies
+                    .computeIfAbsent(ModelElementInterner.key(dependency), k -> new ArrayList<>(1))
+                    .add(dependency);
+        }
+    }
+
+    private void collectPlugins(List<Plugin> list) {
+        for (Plugin plugin : list) {
+            if (ModelElementInterner.isLazy(plugin)) {
+                continue;
+            }
+            plugins.computeIfAbsent(ModelElementInterner.key(plugin), k -> new ArrayList<>(1))
+                    .add(plugin);
+            collectConfiguration(plugin.getConfiguration());
+            for (PluginExecution execution : plugin.getExecutions()) {
+                executions.computeIfAbsent(ModelElementInterner.key(execution), k -> new ArrayList<>(1)).add(execution);
+                collectConfiguration(execution.getConfiguration());
+            }
+            collectDependencies(plugin.getDependencies());
+        }
+    }
+
+    private void collectConfiguration(XmlNode configuration) {
+        if (configuration != null) {
+            configurations
+                    .computeIfAbsent(configuration, k -> new ArrayList<>(1))
+                    .add(configuration);
+        }
+    }
+
+    /**
+     * Returns the given list, or a copy of it if one of its elements was replaced.
+     */
+    private static <T> List<T> reuse(List<T> list, UnaryOperator<T> reconcile) {
+        List<T> result = null;
+        for (int i = 0; i < list.size(); i++) {
+            T element = list.get(i);
+            T reconciled = reconcile.apply(element);
+            if (reconciled != element && result == null) {
+                result = new ArrayList<>(list);
+            }
+            if (result != null) {
+                result.set(i, reconciled);
+            }
+        }
+        return result != null ? result : list;
+    }
+
+    private static boolean sameLocations(Dependency a, Dependency b) {
+        if (!sameLocations(a.getLocationKeys(), a, b.getLocationKeys(), b)) {
+            return false;
+        }
+        for (int i = 0; i < a.getExclusions().size(); i++) {
+            Exclusion x = a.getExclusions().get(i);
+            Exclusion y = b.getExclusions().get(i);
+            if (!sameLocations(x.getLocationKeys(), x, y.getLocationKeys(), y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameLocations(Plugin a, Plugin b) {
+        if (!sameLocations(a.getLocationKeys(), a, b.getLocationKeys(), b)
+                || !sameLocations(a.getConfiguration(), b.getConfiguration())) {
+            return false;
+        }
+        for (int i = 0; i < a.getExecutions().size(); i++) {
+            if (!sameLocations(a.getExecutions().get(i), b.getExecutions().get(i))) {
+                return false;
+            }
+        }
+        for (int i = 0; i < a.getDependencies().size(); i++) {
+            if (!sameLocations(a.getDependencies().get(i), b.getDependencies().get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameLocations(PluginExecution a, PluginExecution b) {
+        return sameLocations(a.getLocationKeys(), a, b.getLocationKeys(), b)
+                && sameLocations(a.getConfiguration(), b.getConfiguration());
+    }
+
+    private static boolean sameLocations(XmlNode a, XmlNode b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (!(a.inputLocation() instanceof InputLocation x && b.inputLocation() instanceof InputLocation y)) {
+            if (a.inputLocation() != null || b.inputLocation() != null) {
+                return false;
+            }
+        } else if (!sameLocation(x, y)) {
+            return false;
+        }
+        // equal nodes have as many children
+        for (int i = 0; i < a.children().size(); i++) {
+            if (!sameLocations(a.children().get(i), b.children().get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameLocations(
+            Set<Object> keys, InputLocationTracker a, Set<Object> otherKeys, InputLocationTracker b) {
+        if (!keys.equals(otherKeys)) {
+            return false;
+        }
+        for (Object key : keys) {
+            if (!sameLocation(a.getLocation(key), b.getLocation(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameLocation(InputLocation a, InputLocation b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a.getLineNumber() != b.getLineNumber() || a.getColumnNumber() != b.getColumnNumber()) {
+            return false;
+        }
+        Map<Object, InputLocation> locations = a.getLocations();
+        Map<Object, InputLocation> otherLocations = b.getLocations();
+        if (!locations.keySet().equals(otherLocations.keySet())) {
+            return false;
+        }
+        for (Map.Entry<Object, InputLocation> entry : locations.entrySet()) {
+            if (entry.getValue() != a && !sameLocation(entry.getValue(), otherLocations.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
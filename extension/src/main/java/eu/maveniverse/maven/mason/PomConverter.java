@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.stream.XMLStreamException;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.apache.maven.model.v4.MavenStaxWriter;
+
+/**
+ * Converts all the POMs of a directory tree between XML and a Mason format, for instance to migrate a
+ * repository with thousands of modules from {@code pom.xml} to {@code pom.yaml}, or back for tools which
+ * only read XML. Each POM is parsed without location information, and streamed to the target file by a
+ * generator, without building any intermediate tree.
+ * <p>
+ * The tree is walked on a {@link ForkJoinPool}: each directory is a task which forks a task per
+ * subdirectory before converting its own POM, so that idle workers steal whole subtrees and the walk and
+ * the conversions proceed in parallel. Hidden directories and {@code target} directories are not walked.
+ * Directories already holding a POM in the target format are skipped, and failures are collected per file
+ * without stopping the conversion of the others.
+ * <p>
+ * The target format is one of {@code xml}, {@code json}, {@code yaml} and {@code hocon}: POMs are
+ * converted from XML to the last three, and to XML from any format read by {@link MasonParser}.
+ * HOCON documents are written in their JSON subset.
+ */
+public final class PomConverter {
+
+    /**
+     * Outcome of a conversion.
+     *
+     * @param converted the number of POMs converted
+     * @param skipped the number of POMs left alone because the target file already exists
+     * @param failures the failures, per POM or directory
+     * @param elapsed the duration of the conversion
+     */
+    public record Result(int converted, int skipped, Map<Path, Exception> failures, Duration elapsed) {
+
+        /**
+         * Returns the number of POMs converted per second.
+         */
+        public double throughput() {
+            long nanos = Math.max(1, elapsed.toNanos());
+            return converted * 1_000_000_000d / nanos;
+        }
+    }
+
+    private static final Map<String, Object> OPTIONS = Map.of(MasonParser.LOCATION_TRACKING, false);
+
+    private final String format;
+    private final String target;
+    private final boolean deleteSource;
+    private final MasonParser parser = new MasonParser();
+    private final JsonFactory factory;
+    private final MavenJsonWriter writer;
+    private final ThreadLocal<MavenStaxReader> staxReaders = ThreadLocal.withInitial(() -> {
+        MavenStaxReader reader = new MavenStaxReader();
+        reader.setAddLocationInformation(false);
+        return reader;
+    });
+
+    /**
+     * Creates a converter to the given format.
+     *
+     * @param format {@code xml}, {@code json}, {@code yaml} or {@code hocon}
+     * @param deleteSource whether to delete each POM once converted
+     */
+    public PomConverter(String format, boolean deleteSource) {
+        this.format = format.toLowerCase(Locale.ROOT);
+        this.deleteSource = deleteSource;
+        this.target = switch (this.format) {
+            case "xml" -> "pom.xml";
+            case "json" -> "pom.json";
+            case "yaml", "yml" -> "pom.yaml";
+            case "hocon", "conf" -> "pom.conf";
+            default -> throw new IllegalArgumentException("Unsupported target format: " + format);
+        };
+        this.factory = switch (this.format) {
+            case "xml" -> null;
+            case "yaml", "yml" -> YAMLFactory.builder()
+                    .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+                    .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)
+                    .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                    .build();
+            default -> JsonFactory.builder()
+                    .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                    .build();
+        };
+        this.writer = factory != null ? new MavenJsonWriter(factory) : null;
+    }
+
+    /**
+     * Converts all the POMs found under the given directory, using the given number of threads.
+     */
+    public Result convert(Path root, int parallelism) {
+        Map<Path, Exception> failures = new ConcurrentHashMap<>();
+        AtomicInteger converted = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new DirectoryTask(root, failures, converted, skipped));
+        } finally {
+            pool.shutdown();
+        }
+        return new Result(
+                converted.get(), skipped.get(), Map.copyOf(failures), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+        private final Path dir;
+        private final Map<Path, Exception> failures;
+        private final AtomicInteger converted;
+        private final AtomicInteger skipped;
+
+        DirectoryTask(Path dir, Map<Path, Exception> failures, AtomicInteger converted, AtomicInteger skipped) {
+            this.dir = dir;
+            this.failures = failures;
+            this.converted = converted;
+            this.skipped = skipped;
+        }
+
+        @Override
+        protected void compute() {
+            List<DirectoryTask> subtasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    String name = entry.getFileName().toString();
+                    if (!name.startsWith(".")
+                            && !name.equals("target")
+                            && Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        DirectoryTask subtask = new DirectoryTask(entry, failures, converted, skipped);
+                        subtask.fork();
+                        subtasks.add(subtask);
+                    }
+                }
+            } catch (IOException e) {
+                failures.put(dir, e);
+            }
+            Path source = source(dir);
+            if (source != null) {
+                try {
+                    if (convertFile(source, dir.resolve(target))) {
+                        converted.incrementAndGet();
+                    } else {
+                        skipped.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failures.put(source, e);
+                }
+            }
+            for (DirectoryTask subtask : subtasks) {
+                subtask.join();
+            }
+        }
+    }
+
+    /**
+     * Returns the POM to convert in the given directory, if any.
+     */
+    private Path source(Path dir) {
+        if (!format.equals("xml")) {
+            Path pom = dir.resolve("pom.xml");
+            return Files.isRegularFile(pom) ? pom : null;
+        }
+        for (String ext : MasonParser.EXTENSIONS) {
+            Path pom = dir.resolve("pom" + ext);
+            if (Files.isRegularFile(pom)) {
+                return pom;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts a POM, returning {@code false} if the target file already exists.
+     */
+    private boolean convertFile(Path source, Path targetPath) throws IOException, XMLStreamException {
+        if (Files.exists(targetPath)) {
+            return false;
+        }
+        Model model = read(source);
+        try (OutputStream out = Files.newOutputStream(targetPath, StandardOpenOption.CREATE_NEW)) {
+            write(out, model);
+        } catch (FileAlreadyExistsException e) {
+            // created concurrently, by another tool
+            return false;
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            Files.deleteIfExists(targetPath);
+            throw e;
+        }
+        if (deleteSource) {
+            Files.delete(source);
+        }
+        return true;
+    }
+
+    private Model read(Path source) throws IOException, XMLStreamException {
+        if (format.equals("xml")) {
+            return parser.parse(Sources.fromPath(source), OPTIONS);
+        }
+        try (InputStream in = Files.newInputStream(source)) {
+            return staxReaders.get().read(in, true, null);
+        }
+    }
+
+    private void write(OutputStream out, Model model) throws IOException, XMLStreamException {
+        if (writer == null) {
+            MavenStaxWriter staxWriter = new MavenStaxWriter();
+            staxWriter.setAddLocationInformation(false);
+            staxWriter.write(out, model);
+            return;
+        }
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            if (!(factory instanceof YAMLFactory)) {
+                generator.useDefaultPrettyPrinter();
+            }
+            writer.write(generator, model);
+        }
+    }
+
+    /**
+     * Converts the POMs of a directory tree: {@code PomConverter <directory> <format> [--parallelism <n>]
+     * [--delete]}. The exit status is 1 if any POM could not be converted.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println(
+                    "Usage: PomConverter <directory> <xml|json|yaml|hocon> [--parallelism <n>] [--delete]");
+            System.exit(2);
+        }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        boolean delete = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--parallelism") && i + 1 < args.length) {
+                parallelism = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--delete")) {
+                delete = true;
+            } else {
+                System.err.println("Unknown option: " + args[i]);
+                System.exit(2);
+            }
+        }
+        Result result = new PomConverter(args[1], delete).convert(Path.of(args[0]), parallelism);
+        result.failures().forEach((path, e) -> System.err.println("Failed to convert " + path + ": " + e));
+        System.out.printf(
+                Locale.ROOT,
+                "Converted %d POMs in %d ms (%.0f POMs/s), %d skipped, %d failed%n",
+                result.converted(),
+                result.elapsed().toMillis(),
+                result.throughput(),
+                result.skipped(),
+                result.failures().size());
+        System.exit(result.failures().isEmpty() ? 0 : 1);
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Watches the directories holding parsed POMs and reports changed, created or deleted
+ * {@code pom.*} files, so that cached models can be trusted without checking file attributes.
+ * <p>
+ * Each watched directory has a generation, bumped on every {@code pom.*} event and on overflow.
+ * A model cached while the generation of its directory was {@code g} can be trusted as long as
+ * the generation is still {@code g}; otherwise, or when the directory is not (or no longer)
+ * watched, callers fall back to attribute checks.
+ */
+public class PomWatcher implements Closeable {
+
+    private final WatchService watchService;
+    private final Consumer<Path> listener;
+    private final Map<Path, Watched> dirs = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Watched> keys = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    private static final class Watched {
+        final Path dir;
+        /** The key of the directory, or {@code null} if it cannot be watched. */
+        final WatchKey key;
+        volatile long generation;
+
+        Watched(Path dir, WatchKey key) {
+            this.dir = dir;
+            this.key = key;
+        }
+    }
+
+    /**
+     * @param listener notified with the path of every changed, created or deleted {@code pom.*} file
+     */
+    public PomWatcher(Consumer<Path> listener) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.listener = listener;
+        this.thread = new Thread(this::run, "mason-pom-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Starts watching the given directory, if not already watched. A directory that cannot be watched
+     * is remembered as such, and not tried again.
+     */
+    public void register(Path dir) {
+        Path normalized = dir.toAbsolutePath().normalize();
+        dirs.computeIfAbsent(normalized, d -> {
+            try {
+                WatchKey key = d.register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                Watched watched = new Watched(d, key);
+                keys.put(key, watched);
+                return watched;
+            } catch (IOException | ClosedWatchServiceException e) {
+                // not watchable: callers will keep checking attributes
+                return new Watched(d, null);
+            }
+        });
+    }
+
+    /**
+     * Returns the current generation of the given directory, or {@code -1} if it is not watched.
+     */
+    public long generation(Path dir) {
+        Watched watched = dirs.get(dir.toAbsolutePath().normalize());
+        return watched != null && watched.key != null && watched.key.isValid() ? watched.generation : -1;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Watched watched = keys.get(key);
+                if (watched != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // events were lost: anything in this directory may have changed
+                            watched.generation++;
+                        } else if (event.context() instanceof Path name
+                                && name.getFileName().toString().startsWith("pom.")) {
+                            watched.generation++;
+                            listener.accept(watched.dir.resolve(name));
+                        }
+                    }
+                }
+                if (!key.reset() && watched != null) {
+                    // the directory is gone or inaccessible
+                    keys.remove(key);
+                    dirs.remove(watched.dir, watched);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Weakly referenced intern table for the short, highly repeated strings of a reactor: groupIds,
+ * versions, scopes, plugin artifactIds and configuration element names.
+ * <p>
+ * Only values up to {@link #MAX_LENGTH} characters are canonicalized, as longer ones (descriptions,
+ * URLs, scripts) rarely repeat. Each stripe holds at most {@link #MAX_STRIPE_SIZE} values, beyond which
+ * new values are returned as they are. Entries vanish once no model references them anymore.
+ * <p>
+ * Like {@link XmlNodeInterner}, the table is split in independently locked stripes to keep
+ * contention low when models are built in parallel.
+ */
+public class StringInterner {
+
+    /**
+     * Longest value canonicalized.
+     */
+    static final int MAX_LENGTH = 64;
+
+    static final int MAX_STRIPE_SIZE = 8192;
+
+    private static final int STRIPES = 16;
+
+    @SuppressWarnings("unchecked")
+    private final Map<String, WeakReference<String>>[] stripes = new Map[STRIPES];
+
+    public StringInterner() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * Returns the canonical instance equal to the given value, or the value itself if it is too long
+     * to be worth sharing or the table is full.
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        int hash = value.hashCode();
+        Map<String, WeakReference<String>> stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            WeakReference<String> ref = stripe.get(value);
+            String canonical = ref != null ? ref.get() : null;
+            if (canonical != null) {
+                return canonical;
+            }
+            if (stripe.size() < MAX_STRIPE_SIZE) {
+                stripe.put(value, new WeakReference<>(value));
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Returns the number of canonical values currently retained.
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, WeakReference<String>> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
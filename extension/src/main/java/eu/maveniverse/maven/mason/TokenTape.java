@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.io.ContentReference;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact recording of a token subtree read from a {@link JsonParser}, which can be replayed later
+ * through a {@link JsonParser} of its own. Tokens are stored as bytes, texts as shared strings and
+ * locations, when tracked, as two int arrays.
+ * <p>
+ * YAML aliases are recorded with the value their anchor had when they were read, so that replaying
+ * resolves them exactly as an eager read would have.
+ */
+final class TokenTape {
+
+    private static final JsonToken[] TOKENS = JsonToken.values();
+
+    private static final byte ALIAS = -1;
+
+    private byte[] codes = new byte[32];
+    private String[] texts = new String[32];
+    private int[] lines;
+    private int[] columns;
+    private int size;
+    private Map<String, Object> aliases;
+
+    TokenTape(boolean addLocationInformation) {
+        if (addLocationInformation) {
+            lines = new int[32];
+            columns = new int[32];
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int line(int index) {
+        return lines != null ? lines[index] : -1;
+    }
+
+    int column(int index) {
+        return columns != null ? columns[index] : -1;
+    }
+
+    void add(JsonToken token, String text, JsonParser parser) {
+        add((byte) token.ordinal(), text, parser);
+    }
+
+    void addAlias(String alias, Object value, JsonParser parser) {
+        if (aliases == null) {
+            aliases = new HashMap<>();
+        }
+        aliases.put(alias, value);
+        add(ALIAS, alias, parser);
+    }
+
+    private void add(byte code, String text, JsonParser parser) {
+        if (size == codes.length) {
+            int capacity = size << 1;
+            codes = Arrays.copyOf(codes, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            if (lines != null) {
+                lines = Arrays.copyOf(lines, capacity);
+                columns = Arrays.copyOf(columns, capacity);
+            }
+        }
+        codes[size] = code;
+        texts[size] = text;
+        if (lines != null) {
+            JsonLocation location = parser.currentLocation();
+            lines[size] = location.getLineNr();
+            columns[size] = location.getColumnNr();
+        }
+        size++;
+    }
+
+    /**
+     * Releases the spare capacity once recording is complete.
+     */
+    void trim() {
+        if (size < codes.length) {
+            codes = Arrays.copyOf(codes, size);
+            texts = Arrays.copyOf(texts, size);
+            if (lines != null) {
+                lines = Arrays.copyOf(lines, size);
+                columns = Arrays.copyOf(columns, size);
+            }
+        }
+    }
+
+    /**
+     * Returns a fresh table of the aliases recorded on this tape, to resolve them while replaying.
+     */
+    Map<String, Object> aliases() {
+        return aliases != null ? new HashMap<>(aliases) : new HashMap<>();
+    }
+
+    /**
+     * Returns a parser replaying the tokens in {@code [start, end)}, reporting {@code name}
+     * as the name of the first one. The parser must be advanced to the first token.
+     */
+    Replay replay(String name, int start, int end) {
+        return new Replay(name, start, end);
+    }
+
+    final class Replay extends ParserMinimalBase {
+        private final int end;
+        private int index;
+        private String name;
+        private boolean closed;
+        private JsonReadContext context = JsonReadContext.createRootContext(null);
+        private ObjectCodec codec;
+
+        Replay(String name, int start, int end) {
+            super(0);
+            this.name = name;
+            this.index = start - 1;
+            this.end = end;
+        }
+
+        /**
+         * Returns {@code true} if the current token is a YAML alias, whose anchor name is the text.
+         */
+        boolean isCurrentAlias() {
+            return _currToken != null && codes[index] == ALIAS;
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            if (closed || index + 1 >= end) {
+                index = end;
+                return _currToken = null;
+            }
+            byte code = codes[++index];
+            _currToken = code == ALIAS ? JsonToken.VALUE_STRING : TOKENS[code];
+            // track the structure like a streaming parser does, for callers inspecting the context
+            switch (_currToken) {
+                case FIELD_NAME -> {
+                    name = texts[index];
+                    context.expectComma();
+                    context.setCurrentName(name);
+                }
+                case END_OBJECT, END_ARRAY -> context = context.clearAndGetParent();
+                default -> {
+                    if (context.inArray()) {
+                        context.expectComma();
+                    }
+                    if (_currToken == JsonToken.START_OBJECT) {
+                        context = context.createChildObjectContext(line(index), column(index));
+                    } else if (_currToken == JsonToken.START_ARRAY) {
+                        context = context.createChildArrayContext(line(index), column(index));
+                    }
+                }
+            }
+            return _currToken;
+        }
+
+        @Override
+        protected void _handleEOF() {
+            // nothing to do: the tape only holds complete subtrees
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public String getCurrentName() {
+            return name;
+        }
+
+        @Override
+        public String currentName() {
+            return name;
+        }
+
+        @Override
+        public void overrideCurrentName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public JsonStreamContext getParsingContext() {
+            return context;
+        }
+
+        @Override
+        public ObjectCodec getCodec() {
+            return codec;
+        }
+
+        @Override
+        public void setCodec(ObjectCodec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public Version version() {
+            return Version.unknownVersion();
+        }
+
+        @Override
+        public JsonLocation currentLocation() {
+            return location();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public JsonLocation getCurrentLocation() {
+            return location();
+        }
+
+        @Override
+        public JsonLocation currentTokenLocation() {
+            return location();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public JsonLocation getTokenLocation() {
+            return location();
+        }
+
+        private JsonLocation location() {
+            boolean valid = _currToken != null && index < end;
+            return new JsonLocation(
+                    ContentReference.unknown(), -1L, valid ? line(index) : -1, valid ? column(index) : -1);
+        }
+
+        @Override
+        public String getText() {
+            if (_currToken == null) {
+                return null;
+            }
+            String text = texts[index];
+            return text != null ? text : _currToken.asString();
+        }
+
+        @Override
+        public char[] getTextCharacters() {
+            String text = getText();
+            return text != null ? text.toCharArray() : null;
+        }
+
+        @Override
+        public boolean hasTextCharacters() {
+            return false;
+        }
+
+        @Override
+        public int getTextLength() {
+            String text = getText();
+            return text != null ? text.length() : 0;
+        }
+
+        @Override
+        public int getTextOffset() {
+            return 0;
+        }
+
+        @Override
+        public byte[] getBinaryValue(Base64Variant variant) throws IOException {
+            throw _constructError("Binary values are not supported");
+        }
+
+        @Override
+        public Number getNumberValue() {
+            return _currToken == JsonToken.VALUE_NUMBER_INT ? getBigIntegerValue() : getDecimalValue();
+        }
+
+        @Override
+        public NumberType getNumberType() {
+            return _currToken == JsonToken.VALUE_NUMBER_INT ? NumberType.BIG_INTEGER : NumberType.BIG_DECIMAL;
+        }
+
+        @Override
+        public int getIntValue() {
+            return getBigIntegerValue().intValue();
+        }
+
+        @Override
+        public long getLongValue() {
+            return getBigIntegerValue().longValue();
+        }
+
+        @Override
+        public BigInteger getBigIntegerValue() {
+            return new BigInteger(getText().trim());
+        }
+
+        @Override
+        public float getFloatValue() {
+            return getDecimalValue().floatValue();
+        }
+
+        @Override
+        public double getDoubleValue() {
+            return getDecimalValue().doubleValue();
+        }
+
+        @Override
+        public BigDecimal getDecimalValue() {
+            return new BigDecimal(getText().trim());
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.maven.api.xml.XmlNode;
+
+/**
+ * Weakly referenced intern table canonicalizing structurally identical {@link XmlNode} trees.
+ * <p>
+ * Structural identity follows {@link XmlNode#equals(Object)}, which ignores input locations:
+ * the canonical instance keeps the location of the first occurrence that was interned.
+ * Subtrees are interned bottom-up, so identical children of otherwise different
+ * configurations are shared as well. Entries vanish once no model references them anymore.
+ * <p>
+ * As the children of a node are interned first, a node is hashed and compared by its own name,
+ * value and attributes, and by the identity of its children, without walking its subtree again.
+ * Trees are walked with an explicit stack, so their depth is only bounded by the heap.
+ * <p>
+ * The table is split in independently locked stripes to keep contention low when
+ * models are built in parallel.
+ */
+public class XmlNodeInterner {
+
+    private static final int STRIPES = 16;
+
+    /**
+     * A weakly referenced node, with its shallow hash.
+     */
+    private static final class Key extends WeakReference<XmlNode> {
+        final int hash;
+
+        Key(XmlNode node, int hash, ReferenceQueue<XmlNode> queue) {
+            super(node, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other) || hash != other.hash) {
+                return false;
+            }
+            XmlNode node = get();
+            XmlNode otherNode = other.get();
+            return node != null && otherNode != null && sameNode(node, otherNode);
+        }
+    }
+
+    private static final class Stripe {
+        final Map<Key, Key> keys = new HashMap<>();
+        final ReferenceQueue<XmlNode> queue = new ReferenceQueue<>();
+
+        void expunge() {
+            for (Object key; (key = queue.poll()) != null; ) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    /**
+     * A node being interned, with the canonical instances of its children interned so far, if any
+     * differs from the original child.
+     */
+    private static final class Visit {
+        final XmlNode node;
+        int index;
+        List<XmlNode> children;
+
+        Visit(XmlNode node) {
+            this.node = node;
+        }
+
+        void add(XmlNode canonical) {
+            List<XmlNode> original = node.children();
+            if (children == null && canonical != original.get(index)) {
+                children = new ArrayList<>(original.size());
+                children.addAll(original.subList(0, index));
+            }
+            if (children != null) {
+                children.add(canonical);
+            }
+            index++;
+        }
+
+        XmlNode node() {
+            return children != null
+                    ? XmlNode.newInstance(node.name(), node.value(), node.attributes(), children, node.inputLocation())
+                    : node;
+        }
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public XmlNodeInterner() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Returns the canonical instance structurally equal to the given node.
+     */
+    public XmlNode intern(XmlNode node) {
+        if (node == null) {
+            return null;
+        }
+        ArrayDeque<Visit> visits = new ArrayDeque<>();
+        visits.push(new Visit(node));
+        while (true) {
+            Visit visit = visits.peek();
+            if (visit.index < visit.node.children().size()) {
+                visits.push(new Visit(visit.node.children().get(visit.index)));
+                continue;
+            }
+            visits.pop();
+            XmlNode canonical = canonical(visit.node());
+            Visit parent = visits.peek();
+            if (parent == null) {
+                return canonical;
+            }
+            parent.add(canonical);
+        }
+    }
+
+    /**
+     * Returns the canonical instance of a node whose children are canonical.
+     */
+    private XmlNode canonical(XmlNode node) {
+        int hash = hash(node);
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            stripe.expunge();
+            Key key = stripe.keys.get(new Key(node, hash, null));
+            XmlNode canonical = key != null ? key.get() : null;
+            if (canonical != null) {
+                return canonical;
+            }
+            key = new Key(node, hash, stripe.queue);
+            stripe.keys.put(key, key);
+            return node;
+        }
+    }
+
+    private static int hash(XmlNode node) {
+        int hash = Objects.hash(node.name(), node.namespaceUri(), node.prefix(), node.value(), node.attributes());
+        for (XmlNode child : node.children()) {
+            hash = 31 * hash + System.identityHashCode(child);
+        }
+        return hash;
+    }
+
+    private static boolean sameNode(XmlNode node, XmlNode other) {
+        if (!Objects.equals(node.name(), other.name())
+                || !Objects.equals(node.namespaceUri(), other.namespaceUri())
+                || !Objects.equals(node.prefix(), other.prefix())
+                || !Objects.equals(node.value(), other.value())
+                || !node.attributes().equals(other.attributes())) {
+            return false;
+        }
+        List<XmlNode> children = node.children();
+        List<XmlNode> otherChildren = other.children();
+        if (children.size() != otherChildren.size()) {
+            return false;
+        }
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) != otherChildren.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of canonical nodes currently retained.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.expunge();
+                size += stripe.keys.size();
+            }
+        }
+        return size;
+    }
+}
@@ -20,7 +20,11 @@ import java.io.Reader;
 
 public class HoconFactory extends JsonFactory {
 
-    private String sourcePath = "unknown";
+    /**
+     * Only used for diagnostics. Parsers never read it, so a factory can be shared by
+     * concurrent parses; it is volatile so that a late update is seen by all threads.
+     */
+    private volatile String sourcePath = "unknown";
 
     public static class Builder extends JsonFactoryBuilder {
         private String sourcePath = "unknown";
@@ -36,7 +40,7 @@ public class HoconFactory extends JsonFactory {
 
         @Override
         public HoconFactory build() {
-            HoconFactory factory = new HoconFactory();
+            HoconFactory factory = new HoconFactory(this);
             factory.setSourcePath(sourcePath);
             return factory;
         }
@@ -46,6 +50,10 @@ public class HoconFactory extends JsonFactory {
         super();
     }
 
+    protected HoconFactory(JsonFactoryBuilder builder) {
+        super(builder);
+    }
+
     public void setSourcePath(String sourcePath) {
         this.sourcePath = sourcePath;
     }
@@ -67,6 +75,6 @@ public class HoconFactory extends JsonFactory {
     @Override
     protected JsonParser _createParser(Reader r, IOContext ctxt) throws IOException {
         // Create a parser with location tracking enabled that directly implements JsonParser
-        return new HoconParser(ctxt, 0, null, r);
+        return new HoconParser(ctxt, _parserFeatures, _objectCodec, r);
     }
 }
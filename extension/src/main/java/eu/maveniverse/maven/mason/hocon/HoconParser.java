@@ -16,14 +16,23 @@ import com.fasterxml.jackson.core.base.ParserBase;
 import com.fasterxml.jackson.core.io.IOContext;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
  * HOCON parser that implements Jackson's JsonParser for streaming-based parsing.
  * This allows it to directly emit events with proper location information.
+ * <p>
+ * The events read are rewritten by an {@link ObjectMerger}, so that dotted keys and objects defined several
+ * times under the same key are reported as the single nested object they denote.
  */
 public class HoconParser extends ParserBase {
 
+    private static final Set<HoconToken.TokenType> KEY_TYPES =
+            Set.of(HoconToken.TokenType.DOT, HoconToken.TokenType.PATH_TEXT, HoconToken.TokenType.QUOTED_PATH);
+
     protected ObjectCodec codec;
     protected Reader reader;
     protected HoconLexer tokenizer;
@@ -31,6 +40,10 @@ public class HoconParser extends ParserBase {
     protected HoconToken nextToken;
     protected String currentText;
     protected RootState implicitRoot = RootState.UNKNOWN;
+    protected int depth;
+    protected final List<String> path = new ArrayList<>();
+    protected final ArrayDeque<ObjectMerger.Event> events = new ArrayDeque<>();
+    protected final ObjectMerger merger = new ObjectMerger(events, ObjectMerger.DEFAULT_MAX_BUFFERED);
 
     enum RootState {
         UNKNOWN,
@@ -49,6 +62,7 @@ public class HoconParser extends ParserBase {
         this.codec = codec;
         this.reader = reader;
         this.tokenizer = tokenizer;
+        this.tokenizer.setMaxStringLength(_streamReadConstraints.getMaxStringLength());
     }
 
     @Override
@@ -71,21 +85,63 @@ public class HoconParser extends ParserBase {
 
     @Override
     public JsonToken nextToken() throws IOException {
-        JsonToken token = doNextToken();
-        return token;
+        while (events.isEmpty()) {
+            JsonToken token = doNextToken();
+            if (token == null) {
+                if (merger.isOpen()) {
+                    throw new HoconParseException("Unexpected end of document at line " + _currInputRow);
+                }
+                return _updateToken(null);
+            }
+            merge(token, _currInputRow, _inputPtr);
+        }
+        ObjectMerger.Event event = events.poll();
+        JsonToken token = event.token();
+        if (event.text() != null) {
+            currentText = event.text();
+        }
+        _currInputRow = event.line();
+        _inputPtr = event.column();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            _numTypesValid = NR_LONG;
+            _numberLong = Long.parseLong(currentText.trim());
+        } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            _numTypesValid = NR_DOUBLE;
+            _numberDouble = Double.parseDouble(currentText.trim());
+        }
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            _streamReadConstraints.validateNestingDepth(++depth);
+        } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+            depth--;
+        }
+        return _updateToken(token);
+    }
+
+    private void merge(JsonToken token, int line, int column) {
+        switch (token) {
+            case FIELD_NAME -> merger.field(path, line, column);
+            case START_OBJECT -> merger.startObject(line, column);
+            case END_OBJECT -> merger.endObject(line, column);
+            case START_ARRAY -> merger.startArray(line, column);
+            case END_ARRAY -> merger.endArray(line, column);
+            default -> merger.scalar(token, currentText, line, column);
+        }
     }
 
+    /**
+     * Returns the next event of the document as written, before any merging.
+     */
     protected JsonToken doNextToken() throws IOException {
         if (implicitRoot == RootState.UNKNOWN) {
-            doReadNextToken();
+            JsonToken token = doReadNextToken();
             if (currentToken.type() == HoconToken.TokenType.LEFT_BRACE) {
                 implicitRoot = RootState.EXPLICIT;
-                return _currToken;
+                return token;
             } else {
                 implicitRoot = RootState.IMPLICIT_BEFORE;
                 nextToken = currentToken;
                 currentToken = new HoconToken(HoconToken.TokenType.LEFT_BRACE, "{", -1, -1);
-                return _updateToken(JsonToken.START_OBJECT);
+                return JsonToken.START_OBJECT;
             }
         } else if (implicitRoot == RootState.IMPLICIT_BEFORE) {
             implicitRoot = RootState.IMPLICIT_WITHIN;
@@ -95,7 +151,7 @@ public class HoconParser extends ParserBase {
             if (token == null) {
                 implicitRoot = RootState.IMPLICIT_DONE;
                 currentToken = new HoconToken(HoconToken.TokenType.RIGHT_BRACE, "}", -1, -1);
-                return _updateToken(JsonToken.END_OBJECT);
+                return JsonToken.END_OBJECT;
             }
             return token;
         } else {
@@ -129,37 +185,90 @@ public class HoconParser extends ParserBase {
     }
 
     protected JsonToken doReadNextToken() throws IOException {
-        if (nextToken != null) {
+        // separators and comments are skipped in a loop, so that long runs of them
+        // cannot exhaust the stack, and are not counted as tokens
+        JsonToken token;
+        do {
+            if (nextToken != null) {
+                currentToken = nextToken;
+            } else {
+                currentToken = tokenizer.yylex();
+                _streamReadConstraints.validateDocumentLength(tokenizer.position());
+            }
+            _currInputRow = currentToken.line();
+            _inputPtr = currentToken.column();
+            nextToken = null;
+
+            token = switch (currentToken.type()) {
+                case LEFT_BRACE -> JsonToken.START_OBJECT;
+                case RIGHT_BRACE -> JsonToken.END_OBJECT;
+                case LEFT_BRACKET -> JsonToken.START_ARRAY;
+                case RIGHT_BRACKET -> JsonToken.END_ARRAY;
+                case UNQUOTED_TEXT, STRING, MULTILINE_STRING, SUBSTITUTION, OPTIONAL_SUBSTITUTION -> bufferValue();
+                case DOT, PATH_TEXT, QUOTED_PATH -> bufferKey();
+                case PLUS -> throw new HoconParseException("Concatenation operator (+) not supported");
+                case INCLUDE -> throw new HoconParseException("include directive not supported");
+                case COMMENT, BLOCK_COMMENT, WHITESPACE, NEWLINE, EQUALS, COLON, COMMA -> JsonToken.NOT_AVAILABLE;
+                case EOF -> null;
+            };
+        } while (token == JsonToken.NOT_AVAILABLE);
+        return token;
+    }
+
+    /**
+     * Reads a key into {@link #path}, split at the dots outside quotes.
+     */
+    private JsonToken bufferKey() throws IOException {
+        path.clear();
+        StringBuilder segment = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            switch (currentToken.type()) {
+                case QUOTED_PATH -> {
+                    segment.append(text(currentToken));
+                    quoted = true;
+                }
+                case DOT -> {
+                    addSegment(segment, quoted);
+                    quoted = false;
+                }
+                default -> {
+                    String value = currentToken.value();
+                    for (int i = 0; i < value.length(); i++) {
+                        char c = value.charAt(i);
+                        if (c == '.') {
+                            addSegment(segment, quoted);
+                            quoted = false;
+                        } else {
+                            segment.append(c);
+                        }
+                    }
+                }
+            }
+            nextToken = tokenizer.yylex();
+            _streamReadConstraints.validateDocumentLength(tokenizer.position());
+            if (nextToken == null || !KEY_TYPES.contains(nextToken.type())) {
+                break;
+            }
             currentToken = nextToken;
-        } else {
-            currentToken = tokenizer.yylex();
         }
-        _currInputRow = currentToken.line();
-        _inputPtr = currentToken.column();
-        nextToken = null;
-
-        return _updateToken(
-                switch (currentToken.type()) {
-                    case LEFT_BRACE -> JsonToken.START_OBJECT;
-                    case RIGHT_BRACE -> JsonToken.END_OBJECT;
-                    case LEFT_BRACKET -> JsonToken.START_ARRAY;
-                    case RIGHT_BRACKET -> JsonToken.END_ARRAY;
-                    case UNQUOTED_TEXT, STRING, MULTILINE_STRING, SUBSTITUTION, OPTIONAL_SUBSTITUTION -> bufferValue();
-                    case DOT, PATH_TEXT, QUOTED_PATH -> bufferKey();
-                    case PLUS -> throw new HoconParseException("Concatenation operator (+) not supported");
-                    case INCLUDE -> throw new HoconParseException("include directive not supported");
-                    case COMMENT, BLOCK_COMMENT, WHITESPACE, NEWLINE, EQUALS, COLON, COMMA -> doReadNextToken();
-                    case EOF -> null;
-                });
+        addSegment(segment, quoted);
+        currentText = String.join(".", path);
+        _streamReadConstraints.validateStringLength(currentText.length());
+        return JsonToken.FIELD_NAME;
     }
 
-    private JsonToken bufferKey() throws IOException {
-        return buffer(
-                JsonToken.FIELD_NAME,
-                Set.of(HoconToken.TokenType.DOT, HoconToken.TokenType.PATH_TEXT, HoconToken.TokenType.QUOTED_PATH));
+    private void addSegment(StringBuilder segment, boolean quoted) {
+        if (segment.length() == 0 && !quoted) {
+            throw new HoconParseException("Empty key segment at line " + currentToken.line() + ", column "
+                    + currentToken.column() + " (if you intended an empty key, try enclosing it in double quotes)");
+        }
+        path.add(segment.toString());
+        segment.setLength(0);
     }
 
     private JsonToken bufferValue() throws IOException {
+        boolean unquoted = currentToken.type() == HoconToken.TokenType.UNQUOTED_TEXT;
         JsonToken token = buffer(
                 JsonToken.VALUE_STRING,
                 Set.of(
@@ -176,15 +285,17 @@ public class HoconParser extends ParserBase {
             if (isInteger(value)) {
                 _numTypesValid = NR_LONG;
                 _numberLong = Long.parseLong(value);
-                return _updateToken(JsonToken.VALUE_NUMBER_INT);
+                return JsonToken.VALUE_NUMBER_INT;
             } else if (isNumeric(value)) {
                 _numTypesValid = NR_DOUBLE;
                 _numberDouble = Double.parseDouble(value);
-                return _updateToken(JsonToken.VALUE_NUMBER_FLOAT);
+                return JsonToken.VALUE_NUMBER_FLOAT;
             } else if (value.equalsIgnoreCase("true")) {
-                return _updateToken(JsonToken.VALUE_TRUE);
+                return JsonToken.VALUE_TRUE;
             } else if (value.equalsIgnoreCase("false")) {
-                return _updateToken(JsonToken.VALUE_FALSE);
+                return JsonToken.VALUE_FALSE;
+            } else if (unquoted && value.equals("null")) {
+                return JsonToken.VALUE_NULL;
             }
         }
         return token;
@@ -195,6 +306,7 @@ public class HoconParser extends ParserBase {
         currentText = text(currentToken);
         while (true) {
             nextToken = tokenizer.yylex();
+            _streamReadConstraints.validateDocumentLength(tokenizer.position());
             if (nextToken == null || !types.contains(nextToken.type())) {
                 break;
             }
@@ -203,11 +315,12 @@ public class HoconParser extends ParserBase {
                 buffer = new StringBuilder(currentText);
             }
             buffer.append(text(currentToken));
+            _streamReadConstraints.validateStringLength(buffer.length());
         }
         if (buffer != null) {
             currentText = buffer.toString().trim();
         }
-        return _updateToken(token);
+        return token;
     }
 
     private String text(HoconToken token) {
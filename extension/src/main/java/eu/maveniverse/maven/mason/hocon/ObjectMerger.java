@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.hocon;
+
+import com.fasterxml.jackson.core.JsonToken;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns the events of a HOCON document into the events of the JSON document it denotes, without building
+ * a tree: dotted keys such as {@code build.plugins} are expanded into nested objects, and objects defined
+ * several times under the same key, such as {@code build { ... }} twice, are merged.
+ * <p>
+ * Events are streamed as they are read, and object members are kept open once their closing brace is read,
+ * so that the next definitions of the same key can be added to them. Definitions following each other, as
+ * those of consecutive dotted keys, are thus merged without buffering anything. Only the members read after
+ * an object kept open, with a different key, are diverted to a reorder buffer, and emitted after it once
+ * its object is complete. When the buffer grows beyond its bound, the objects kept open and the buffer are
+ * emitted: a document defining one of these objects again is then rejected, rather than reported with a
+ * duplicate key.
+ */
+final class ObjectMerger {
+
+    record Event(JsonToken token, String text, int line, int column) {}
+
+    static final int DEFAULT_MAX_BUFFERED = 16 * 1024;
+
+    private abstract static class Frame {
+        final Frame parent;
+        final Collection<Event> sink;
+
+        Frame(Frame parent, Collection<Event> sink) {
+            this.parent = parent;
+            this.sink = sink;
+        }
+    }
+
+    private static final class ArrayFrame extends Frame {
+        ArrayFrame(Frame parent, Collection<Event> sink) {
+            super(parent, sink);
+        }
+    }
+
+    private static final class ObjectFrame extends Frame {
+        /** The key of this object in its parent object, if any. */
+        final String key;
+        /** The buffered member this object is the value of, if it has been diverted. */
+        Segment segment;
+        /** Whether this object comes from a dotted key, and ends with its member. */
+        boolean synthetic;
+        /** Whether its closing brace has been read, its next definitions being still awaited. */
+        boolean closed;
+        String pendingKey;
+        int keyLine;
+        int keyColumn;
+        /** The member objects awaiting their next definitions, by key. */
+        final Map<String, ObjectFrame> open = new HashMap<>();
+        /** The keys of the member objects emitted before the end of this object, which cannot be merged. */
+        Set<String> emitted;
+        /** The streamed member object awaiting its next definitions, if any. */
+        ObjectFrame held;
+        /** The members read after the held one, in order. */
+        final ArrayDeque<Segment> buffered = new ArrayDeque<>();
+        int endLine = -1;
+        int endColumn = -1;
+
+        ObjectFrame(Frame parent, String key, Collection<Event> sink) {
+            super(parent, sink);
+            this.key = key;
+        }
+    }
+
+    /**
+     * A member diverted to the reorder buffer of its object, which counts the events buffered. Once emitted,
+     * the events still added to it, if its value is not complete yet, are passed on to its object.
+     */
+    private final class Segment extends ArrayList<Event> {
+        final ObjectFrame owner;
+        /** The object this member is the value of, if any. */
+        ObjectFrame frame;
+        boolean emitted;
+
+        Segment(ObjectFrame owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public boolean add(Event event) {
+            if (emitted) {
+                return owner.sink.add(event);
+            }
+            bufferedEvents++;
+            return super.add(event);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Event> events) {
+            if (emitted) {
+                return owner.sink.addAll(events);
+            }
+            bufferedEvents += events.size();
+            return super.addAll(events);
+        }
+    }
+
+    private final Collection<Event> out;
+    private final int maxBuffered;
+    private int bufferedEvents;
+    private Frame top;
+
+    /**
+     * Creates a merger adding the rewritten events to the given collection, buffering at most the given
+     * number of events.
+     */
+    ObjectMerger(Collection<Event> out, int maxBuffered) {
+        this.out = out;
+        this.maxBuffered = maxBuffered;
+    }
+
+    /**
+     * Returns whether an object or array is still open, some of its events being possibly withheld.
+     */
+    boolean isOpen() {
+        return top != null;
+    }
+
+    void field(List<String> path, int line, int column) {
+        ObjectFrame object = object(line, column);
+        for (int i = 0; i < path.size() - 1; i++) {
+            object = openObject(object, path.get(i), line, column, line, column, true);
+        }
+        object.pendingKey = path.get(path.size() - 1);
+        object.keyLine = line;
+        object.keyColumn = column;
+    }
+
+    void startObject(int line, int column) {
+        if (top instanceof ObjectFrame object) {
+            String key = key(object, line, column);
+            openObject(object, key, object.keyLine, object.keyColumn, line, column, false);
+        } else {
+            ObjectFrame object = new ObjectFrame(top, null, top != null ? top.sink : out);
+            object.sink.add(new Event(JsonToken.START_OBJECT, null, line, column));
+            top = object;
+        }
+    }
+
+    void endObject(int line, int column) {
+        ObjectFrame object = object(line, column);
+        if (object.pendingKey != null) {
+            throw new HoconParseException(
+                    "Key '" + object.pendingKey + "' has no value at line " + line + ", column " + column);
+        }
+        close(object, line, column);
+        bound(line, column);
+    }
+
+    void startArray(int line, int column) {
+        Collection<Event> target;
+        if (top instanceof ObjectFrame object) {
+            target = member(object, key(object, line, column));
+        } else {
+            target = top != null ? top.sink : out;
+        }
+        target.add(new Event(JsonToken.START_ARRAY, null, line, column));
+        top = new ArrayFrame(top, target);
+        bound(line, column);
+    }
+
+    void endArray(int line, int column) {
+        if (!(top instanceof ArrayFrame array)) {
+            throw new HoconParseException("Unexpected ']' at line " + line + ", column " + column);
+        }
+        array.sink.add(new Event(JsonToken.END_ARRAY, null, line, column));
+        top = array.parent;
+        if (top instanceof ObjectFrame object) {
+            completed(object, line, column);
+        }
+        bound(line, column);
+    }
+
+    void scalar(JsonToken token, String text, int line, int column) {
+        if (top instanceof ObjectFrame object) {
+            member(object, key(object, line, column)).add(new Event(token, text, line, column));
+            completed(object, line, column);
+        } else {
+            (top != null ? top.sink : out).add(new Event(token, text, line, column));
+        }
+        bound(line, column);
+    }
+
+    private ObjectFrame object(int line, int column) {
+        if (top instanceof ObjectFrame object) {
+            return object;
+        }
+        throw new HoconParseException("Expected an object at line " + line + ", column " + column);
+    }
+
+    private static String key(ObjectFrame object, int line, int column) {
+        String key = object.pendingKey;
+        if (key == null) {
+            throw new HoconParseException("Expected a key at line " + line + ", column " + column);
+        }
+        object.pendingKey = null;
+        return key;
+    }
+
+    /**
+     * Starts a member whose value is not an object, returning where its events go.
+     */
+    private Collection<Event> member(ObjectFrame object, String key) {
+        Collection<Event> target = target(object);
+        target.add(new Event(JsonToken.FIELD_NAME, key, object.keyLine, object.keyColumn));
+        return target;
+    }
+
+    private Collection<Event> target(ObjectFrame object) {
+        if (object.held == null && object.buffered.isEmpty()) {
+            return object.sink;
+        }
+        Segment segment = new Segment(object);
+        object.buffered.add(segment);
+        return segment;
+    }
+
+    private ObjectFrame openObject(
+            ObjectFrame parent, String key, int keyLine, int keyColumn, int line, int column, boolean synthetic) {
+        ObjectFrame object = parent.open.get(key);
+        if (object == null) {
+            if (parent.emitted != null && parent.emitted.contains(key)) {
+                throw new HoconParseException("Cannot merge the definitions of key '" + key
+                        + "': defined again after more than " + maxBuffered + " events, at line " + line
+                        + ", column " + column);
+            }
+            Collection<Event> target = target(parent);
+            object = new ObjectFrame(parent, key, target);
+            if (target instanceof Segment segment) {
+                object.segment = segment;
+                segment.frame = object;
+            }
+            target.add(new Event(JsonToken.FIELD_NAME, key, keyLine, keyColumn));
+            target.add(new Event(JsonToken.START_OBJECT, null, line, column));
+            parent.open.put(key, object);
+        }
+        object.closed = false;
+        object.synthetic = synthetic;
+        top = object;
+        return object;
+    }
+
+    private void close(ObjectFrame object, int line, int column) {
+        object.endLine = line;
+        object.endColumn = column;
+        object.closed = true;
+        top = object.parent;
+        if (top instanceof ObjectFrame parent) {
+            // keep it open for the next definitions of its key
+            if (object.segment == null) {
+                parent.held = object;
+            }
+            completed(parent, line, column);
+        } else {
+            finish(object);
+        }
+    }
+
+    /**
+     * Called once a member of the given object has been read, to close the objects of a dotted key.
+     */
+    private void completed(ObjectFrame object, int line, int column) {
+        if (object.synthetic) {
+            close(object, line, column);
+        }
+    }
+
+    /**
+     * Emits the objects kept open and the buffers of the objects being read once the buffered events exceed
+     * their bound, so that only the members of an object defined again while they are read stay buffered.
+     */
+    private void bound(int line, int column) {
+        if (bufferedEvents <= maxBuffered) {
+            return;
+        }
+        List<ObjectFrame> objects = new ArrayList<>();
+        for (Frame frame = top; frame != null; frame = frame.parent) {
+            if (frame instanceof ObjectFrame object) {
+                objects.add(object);
+            }
+        }
+        ObjectFrame merging = null;
+        for (int i = objects.size() - 1; i >= 0; i--) {
+            ObjectFrame object = emit(objects.get(i));
+            if (merging == null) {
+                merging = object;
+            }
+        }
+        if (bufferedEvents > maxBuffered) {
+            throw new HoconParseException("Cannot merge the definitions of key '" + merging.key
+                    + "': more than " + maxBuffered + " events to buffer, at line " + line + ", column " + column);
+        }
+    }
+
+    /**
+     * Emits the held member and the buffer of an object, up to the member object being defined again, if
+     * any, which is returned: the members following it can only be emitted after its closing brace.
+     */
+    private ObjectFrame emit(ObjectFrame object) {
+        if (object.held != null) {
+            if (!object.held.closed) {
+                return object.held;
+            }
+            finish(object.held);
+            object.held = null;
+        }
+        Segment segment;
+        while ((segment = object.buffered.peek()) != null) {
+            ObjectFrame frame = segment.frame;
+            if (frame != null && frame.closed) {
+                finish(frame);
+                frame = null;
+            }
+            bufferedEvents -= segment.size();
+            object.sink.addAll(segment);
+            segment.clear();
+            segment.emitted = true;
+            if (frame != null) {
+                return frame;
+            }
+            object.buffered.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Completes an object: emits its held member, its buffer and its closing brace.
+     */
+    private void finish(ObjectFrame object) {
+        emit(object);
+        object.sink.add(new Event(JsonToken.END_OBJECT, null, object.endLine, object.endColumn));
+        if (object.parent instanceof ObjectFrame parent) {
+            parent.open.remove(object.key);
+            if (!parent.closed) {
+                if (parent.emitted == null) {
+                    parent.emitted = new HashSet<>();
+                }
+                parent.emitted.add(object.key);
+            }
+        }
+    }
+}
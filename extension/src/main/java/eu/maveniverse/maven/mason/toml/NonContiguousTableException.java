@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.toml;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Thrown by {@link TomlParser} for a table defined again after it was closed, as allowed by TOML
+ * for tables defined in several places: such documents need a tree based parser.
+ */
+public class NonContiguousTableException extends JsonParseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NonContiguousTableException(JsonParser parser, String message, JsonLocation location) {
+        super(parser, message, location);
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.toml;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.IOContext;
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Factory of streaming {@link TomlParser}s. TOML documents are always decoded as UTF-8.
+ */
+public class TomlFactory extends JsonFactory {
+
+    public static class Builder extends JsonFactoryBuilder {
+
+        public Builder() {
+            super(new TomlFactory());
+        }
+
+        @Override
+        public TomlFactory build() {
+            return new TomlFactory(this);
+        }
+    }
+
+    public TomlFactory() {
+        super();
+    }
+
+    protected TomlFactory(JsonFactoryBuilder builder) {
+        super(builder);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String getFormatName() {
+        return "TOML";
+    }
+
+    @Override
+    protected JsonParser _createParser(InputStream in, IOContext ctxt) throws IOException {
+        return _createParser(new InputStreamReader(in, StandardCharsets.UTF_8), ctxt);
+    }
+
+    @Override
+    protected JsonParser _createParser(Reader r, IOContext ctxt) throws IOException {
+        return new TomlParser(ctxt, _parserFeatures, _objectCodec, r);
+    }
+
+    @Override
+    protected JsonParser _createParser(char[] data, int offset, int len, IOContext ctxt, boolean recyclable)
+            throws IOException {
+        return _createParser(new CharArrayReader(data, offset, len), ctxt);
+    }
+
+    @Override
+    protected JsonParser _createParser(byte[] data, int offset, int len, IOContext ctxt) throws IOException {
+        return _createParser(new ByteArrayInputStream(data, offset, len), ctxt);
+    }
+}
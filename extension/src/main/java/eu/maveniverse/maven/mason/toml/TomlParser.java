@@ -0,0 +1,910 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.toml;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.base.ParserBase;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming TOML parser that implements Jackson's JsonParser, emitting tokens as the document is read
+ * instead of building a tree first, with the line and column of each key and value.
+ * <p>
+ * Tables, arrays of tables and dotted keys are emitted as nested objects in document order: a table is
+ * kept open until a key or header outside of it is read. Documents defining a table again after it was
+ * closed, which TOML allows but which cannot be streamed, fail with a {@link NonContiguousTableException}:
+ * the caller has to read them again, as a tree.
+ * Offset date-times, local date-times, dates and times are emitted as strings.
+ */
+public class TomlParser extends ParserBase {
+
+    enum Kind {
+        /** A table, either from a header or from a dotted key. */
+        TABLE,
+        /** An array of tables, whose current element is the next frame. */
+        TABLE_ARRAY,
+        /** An element of an array of tables. */
+        ELEMENT,
+        /** An inline table value. */
+        INLINE,
+        /** An array value. */
+        ARRAY
+    }
+
+    /**
+     * An open object or array. Tables remember the keys of their closed sub-tables, and whether they were
+     * defined by a header, so that a table defined again can be detected.
+     */
+    static final class Frame {
+        final Kind kind;
+        final String key;
+        Set<String> closed;
+        boolean defined;
+        int count;
+
+        Frame(Kind kind, String key) {
+            this.kind = kind;
+            this.key = key;
+        }
+
+        boolean isClosed(String key) {
+            return closed != null && closed.contains(key);
+        }
+
+        void close(String key) {
+            if (closed == null) {
+                closed = new HashSet<>();
+            }
+            closed.add(key);
+        }
+    }
+
+    record Key(String name, int line, int column) {}
+
+    record Event(JsonToken token, String text, int line, int column) {}
+
+    protected ObjectCodec codec;
+    protected Reader reader;
+
+    private char[] buffer;
+    private int ptr;
+    private int end;
+    private long processed;
+    private boolean eof;
+    private int line = 1;
+    private long lineStart;
+
+    private final StringBuilder text = new StringBuilder();
+    private final List<Key> keys = new ArrayList<>();
+    private final List<Frame> frames = new ArrayList<>();
+    private final ArrayDeque<Event> pending = new ArrayDeque<>();
+    private int tableDepth;
+    private int valueFrames;
+    private boolean started;
+    private boolean done;
+    private boolean expectValue;
+    private boolean lineEnd;
+
+    private String currentText;
+    private int tokenLine;
+    private int tokenColumn;
+
+    public TomlParser(IOContext ctxt, int features, ObjectCodec codec, Reader reader) {
+        super(ctxt, features);
+        this.codec = codec;
+        this.reader = reader;
+        this.buffer = ctxt.allocTokenBuffer();
+    }
+
+    @Override
+    protected void _closeInput() throws IOException {
+        if (reader != null) {
+            if (_ioContext.isResourceManaged() || isEnabled(Feature.AUTO_CLOSE_SOURCE)) {
+                reader.close();
+            }
+            reader = null;
+        }
+    }
+
+    @Override
+    protected void _releaseBuffers() throws IOException {
+        super._releaseBuffers();
+        char[] buf = buffer;
+        if (buf != null) {
+            buffer = null;
+            _ioContext.releaseTokenBuffer(buf);
+        }
+    }
+
+    @Override
+    public void setCodec(ObjectCodec oc) {
+        codec = oc;
+    }
+
+    @Override
+    public ObjectCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        while (pending.isEmpty()) {
+            if (done) {
+                _currToken = null;
+                return null;
+            }
+            if (!started) {
+                started = true;
+                if (peek() == '\uFEFF') {
+                    ptr++;
+                }
+                frames.add(new Frame(Kind.TABLE, null));
+                tableDepth = 1;
+                return emit(JsonToken.START_OBJECT, "{", 1, 1);
+            }
+            if (expectValue) {
+                expectValue = false;
+                return readValue();
+            }
+            if (valueFrames == 0) {
+                readStatement();
+            } else if (top().kind == Kind.ARRAY) {
+                JsonToken token = readArrayElement();
+                if (token != null) {
+                    return token;
+                }
+            } else {
+                readInlineEntry();
+            }
+        }
+        Event event = pending.poll();
+        return emit(event.token(), event.text(), event.line(), event.column());
+    }
+
+    /**
+     * Reads a key/value pair or a table header at the document level, or closes all tables at the end.
+     */
+    private void readStatement() throws IOException {
+        if (lineEnd) {
+            skipSpaces();
+            skipComment();
+            int ch = peek();
+            if (ch != '\n' && ch != '\r' && ch != -1) {
+                throw error("Expected end of line but found '" + (char) ch + "'");
+            }
+            lineEnd = false;
+        }
+        skipBlank();
+        int l = line;
+        int c = column();
+        int ch = peek();
+        if (ch == -1) {
+            closeTo(0, l, c);
+            done = true;
+        } else if (ch == '[') {
+            readHeader(l, c);
+        } else {
+            readKey();
+            expect('=', "'=' after key");
+            resolveKey(tableDepth);
+        }
+    }
+
+    /**
+     * Reads an element of the array value at the top of the stack, or its end.
+     */
+    private JsonToken readArrayElement() throws IOException {
+        Frame frame = top();
+        skipBlank();
+        if (frame.count > 0 && peek() != ']') {
+            expect(',', "',' or ']' in array");
+            skipBlank();
+        }
+        if (peek() == ']') {
+            int l = line;
+            int c = column();
+            ptr++;
+            closeTo(frames.size() - 1, l, c);
+            afterValue();
+            return null;
+        }
+        frame.count++;
+        return readValue();
+    }
+
+    /**
+     * Reads a key of the innermost inline table value, or its end.
+     */
+    private void readInlineEntry() throws IOException {
+        int inline = frames.size() - 1;
+        while (frames.get(inline).kind != Kind.INLINE) {
+            inline--;
+        }
+        Frame frame = frames.get(inline);
+        skipBlank();
+        if (frame.count > 0 && peek() != '}') {
+            expect(',', "',' or '}' in inline table");
+            skipBlank();
+        }
+        if (peek() == '}') {
+            int l = line;
+            int c = column();
+            ptr++;
+            closeTo(inline, l, c);
+            afterValue();
+            return;
+        }
+        frame.count++;
+        readKey();
+        expect('=', "'=' after key");
+        resolveKey(inline + 1);
+    }
+
+    /**
+     * Reads a {@code [table]} or {@code [[array.of.tables]]} header, closing the tables it is not in and
+     * opening the ones it defines.
+     */
+    private void readHeader(int l, int c) throws IOException {
+        ptr++;
+        boolean array = peek() == '[';
+        if (array) {
+            ptr++;
+        }
+        readKey();
+        expect(']', array ? "']]'" : "']'");
+        if (array) {
+            expect(']', "']]'");
+        }
+        lineEnd = true;
+
+        int depth = 1;
+        int matched = 0;
+        Frame last = null;
+        while (matched < keys.size()
+                && depth < frames.size()
+                && keys.get(matched).name().equals(frames.get(depth).key)) {
+            last = frames.get(depth);
+            matched++;
+            // enter the current element of an array of tables, unless it is the one defined again
+            depth += last.kind == Kind.TABLE_ARRAY && matched < keys.size() ? 2 : 1;
+        }
+        if (matched == keys.size() && (last.kind == Kind.TABLE_ARRAY) != array) {
+            Key key = keys.get(matched - 1);
+            throw new NonContiguousTableException(
+                    this,
+                    "Table '" + key.name() + "' is defined both as a table and as an array of tables",
+                    location(key.line(), key.column()));
+        }
+        if (matched == keys.size() && !array) {
+            if (last.defined) {
+                Key key = keys.get(matched - 1);
+                throw new JsonParseException(
+                        this, "Table '" + key.name() + "' is defined twice", location(key.line(), key.column()));
+            }
+            // only created so far as the prefix of another header
+            last.defined = true;
+        }
+        closeTo(depth, l, c);
+        if (matched == keys.size()) {
+            if (array) {
+                // next element of an open array of tables
+                queue(JsonToken.START_OBJECT, "{", l, c);
+                frames.add(new Frame(Kind.ELEMENT, null));
+            }
+        } else {
+            for (int i = matched; i < keys.size() - 1; i++) {
+                open(keys.get(i), Kind.TABLE);
+            }
+            open(keys.get(keys.size() - 1), array ? Kind.TABLE_ARRAY : Kind.TABLE);
+            if (array) {
+                queue(JsonToken.START_OBJECT, "{", l, c);
+                frames.add(new Frame(Kind.ELEMENT, null));
+            } else {
+                top().defined = true;
+            }
+        }
+        tableDepth = frames.size();
+    }
+
+    /**
+     * Emits the field name of the dotted key just read, relative to the table at {@code base},
+     * closing and opening the tables of its prefix as needed.
+     */
+    private void resolveKey(int base) throws IOException {
+        int prefix = keys.size() - 1;
+        int depth = base;
+        int matched = 0;
+        while (matched < prefix
+                && depth < frames.size()
+                && frames.get(depth).kind == Kind.TABLE
+                && keys.get(matched).name().equals(frames.get(depth).key)) {
+            matched++;
+            depth++;
+        }
+        Key field = keys.get(prefix);
+        closeTo(depth, field.line(), field.column());
+        for (int i = matched; i < prefix; i++) {
+            open(keys.get(i), Kind.TABLE);
+        }
+        if (top().isClosed(field.name())) {
+            throw reopened(field);
+        }
+        queue(JsonToken.FIELD_NAME, field.name(), field.line(), field.column());
+        expectValue = true;
+    }
+
+    private void open(Key key, Kind kind) throws IOException {
+        if (top().isClosed(key.name())) {
+            throw reopened(key);
+        }
+        queue(JsonToken.FIELD_NAME, key.name(), key.line(), key.column());
+        if (kind == Kind.TABLE_ARRAY) {
+            queue(JsonToken.START_ARRAY, "[", key.line(), key.column());
+        } else {
+            queue(JsonToken.START_OBJECT, "{", key.line(), key.column());
+        }
+        frames.add(new Frame(kind, key.name()));
+    }
+
+    private void closeTo(int depth, int l, int c) {
+        while (frames.size() > depth) {
+            Frame frame = frames.remove(frames.size() - 1);
+            if (frame.kind == Kind.TABLE_ARRAY || frame.kind == Kind.ARRAY) {
+                queue(JsonToken.END_ARRAY, "]", l, c);
+            } else {
+                queue(JsonToken.END_OBJECT, "}", l, c);
+            }
+            if (frame.kind == Kind.ARRAY || frame.kind == Kind.INLINE) {
+                valueFrames--;
+            } else if (frame.key != null) {
+                top().close(frame.key);
+            }
+        }
+    }
+
+    private void afterValue() {
+        if (valueFrames == 0) {
+            lineEnd = true;
+        }
+    }
+
+    private NonContiguousTableException reopened(Key key) {
+        return new NonContiguousTableException(
+                this,
+                "Table '" + key.name() + "' is defined again after other tables, which cannot be streamed",
+                location(key.line(), key.column()));
+    }
+
+    private Frame top() {
+        return frames.get(frames.size() - 1);
+    }
+
+    private void queue(JsonToken token, String text, int l, int c) {
+        pending.add(new Event(token, text, l, c));
+    }
+
+    private JsonToken emit(JsonToken token, String text, int l, int c) throws IOException {
+        currentText = text;
+        tokenLine = l;
+        tokenColumn = c;
+        // the read limits are checked here as the tokens are emitted: nesting depth when creating contexts
+        switch (token) {
+            case START_OBJECT -> createChildObjectContext(l, c);
+            case START_ARRAY -> createChildArrayContext(l, c);
+            case END_OBJECT, END_ARRAY -> _parsingContext = _parsingContext.clearAndGetParent();
+            case FIELD_NAME -> {
+                _streamReadConstraints.validateNameLength(text.length());
+                _parsingContext.setCurrentName(text);
+            }
+            case VALUE_STRING -> _streamReadConstraints.validateStringLength(text.length());
+            default -> {}
+        }
+        return _updateToken(token);
+    }
+
+    //
+    // Values
+    //
+
+    private JsonToken readValue() throws IOException {
+        skipSpaces();
+        int l = line;
+        int c = column();
+        int ch = peek();
+        switch (ch) {
+            case '"', '\'' -> {
+                String value;
+                if (peek(1) == ch && peek(2) == ch) {
+                    ptr += 3;
+                    value = ch == '"' ? readMultilineBasicString() : readMultilineLiteralString();
+                } else {
+                    ptr++;
+                    value = ch == '"' ? readBasicString() : readLiteralString();
+                }
+                afterValue();
+                return emit(JsonToken.VALUE_STRING, value, l, c);
+            }
+            case '[' -> {
+                ptr++;
+                frames.add(new Frame(Kind.ARRAY, null));
+                valueFrames++;
+                return emit(JsonToken.START_ARRAY, "[", l, c);
+            }
+            case '{' -> {
+                ptr++;
+                frames.add(new Frame(Kind.INLINE, null));
+                valueFrames++;
+                return emit(JsonToken.START_OBJECT, "{", l, c);
+            }
+            default -> {
+                String value = readBareValue();
+                if (value.isEmpty()) {
+                    throw error(ch == -1 ? "Expected value but found end of input" : "Expected value");
+                }
+                JsonToken token = scalar(value, l, c);
+                afterValue();
+                return emit(token, currentText, l, c);
+            }
+        }
+    }
+
+    /**
+     * Reads a boolean, number, date or time, allowing the space TOML accepts between a date and a time.
+     */
+    private String readBareValue() throws IOException {
+        text.setLength(0);
+        int ch;
+        while (isBareValueChar(ch = peek())) {
+            text.append((char) ch);
+            ptr++;
+            if (text.length() == 10 && peek() == ' ' && isDigit(peek(1)) && isDate(text)) {
+                text.append(' ');
+                ptr++;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Classifies a bare value, setting its number and its text.
+     */
+    private JsonToken scalar(String value, int l, int c) throws IOException {
+        currentText = value;
+        if (value.equals("true")) {
+            return JsonToken.VALUE_TRUE;
+        } else if (value.equals("false")) {
+            return JsonToken.VALUE_FALSE;
+        } else if (isDate(value) || (value.length() >= 8 && value.charAt(2) == ':')) {
+            return JsonToken.VALUE_STRING;
+        }
+        String digits = value.indexOf('_') >= 0 ? value.replace("_", "") : value;
+        try {
+            if (digits.length() > 2 && digits.charAt(0) == '0' && "xob".indexOf(digits.charAt(1)) >= 0) {
+                int radix = digits.charAt(1) == 'x' ? 16 : digits.charAt(1) == 'o' ? 8 : 2;
+                return longValue(Long.parseLong(digits.substring(2), radix));
+            }
+            String unsigned = digits.startsWith("+") || digits.startsWith("-") ? digits.substring(1) : digits;
+            if (unsigned.equals("inf") || unsigned.equals("nan")) {
+                double d = unsigned.equals("nan") ? Double.NaN : Double.POSITIVE_INFINITY;
+                return doubleValue(digits.startsWith("-") ? -d : d, value);
+            } else if (digits.indexOf('.') >= 0 || digits.indexOf('e') >= 0 || digits.indexOf('E') >= 0) {
+                return doubleValue(Double.parseDouble(digits), digits);
+            } else if (!unsigned.isEmpty() && isDigit(unsigned.charAt(0))) {
+                return longValue(Long.parseLong(digits));
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new JsonParseException(this, "Invalid value '" + value + "'", location(l, c));
+    }
+
+    private JsonToken longValue(long value) {
+        _numTypesValid = NR_LONG;
+        _numberLong = value;
+        currentText = Long.toString(value);
+        return JsonToken.VALUE_NUMBER_INT;
+    }
+
+    private JsonToken doubleValue(double value, String text) {
+        _numTypesValid = NR_DOUBLE;
+        _numberDouble = value;
+        currentText = text;
+        return JsonToken.VALUE_NUMBER_FLOAT;
+    }
+
+    //
+    // Keys and strings
+    //
+
+    /**
+     * Reads a possibly dotted key into {@link #keys}, with the location of each part.
+     */
+    private void readKey() throws IOException {
+        keys.clear();
+        while (true) {
+            skipSpaces();
+            int l = line;
+            int c = column();
+            int ch = peek();
+            String name;
+            if (ch == '"') {
+                ptr++;
+                name = readBasicString();
+            } else if (ch == '\'') {
+                ptr++;
+                name = readLiteralString();
+            } else {
+                text.setLength(0);
+                while (isBareKeyChar(ch = peek())) {
+                    text.append((char) ch);
+                    ptr++;
+                }
+                if (text.isEmpty()) {
+                    throw error(ch == -1 ? "Expected key but found end of input" : "Expected key");
+                }
+                name = text.toString();
+            }
+            keys.add(new Key(name, l, c));
+            skipSpaces();
+            if (peek() != '.') {
+                return;
+            }
+            ptr++;
+        }
+    }
+
+    private String readBasicString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int ch = read();
+            if (ch == '"') {
+                return text.toString();
+            } else if (ch == '\\') {
+                readEscape();
+            } else if (ch == -1 || ch == '\n') {
+                throw error("Unterminated string");
+            } else {
+                text.append((char) ch);
+            }
+        }
+    }
+
+    private String readLiteralString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int ch = read();
+            if (ch == '\'') {
+                return text.toString();
+            } else if (ch == -1 || ch == '\n') {
+                throw error("Unterminated string");
+            } else {
+                text.append((char) ch);
+            }
+        }
+    }
+
+    private String readMultilineBasicString() throws IOException {
+        text.setLength(0);
+        skipFirstNewline();
+        while (true) {
+            int ch = read();
+            if (ch == '"') {
+                if (closesMultiline('"')) {
+                    return text.toString();
+                }
+            } else if (ch == '\\') {
+                int next = peek();
+                if (next == ' ' || next == '\t' || next == '\r' || next == '\n') {
+                    // line ending backslash: trim all whitespace up to the next non-whitespace
+                    skipSpaces();
+                    if (peek() != '\r' && peek() != '\n') {
+                        throw error("Invalid escape sequence");
+                    }
+                    while ((next = peek()) == ' ' || next == '\t' || next == '\r' || next == '\n') {
+                        read();
+                    }
+                } else {
+                    readEscape();
+                }
+            } else if (ch == -1) {
+                throw error("Unterminated string");
+            } else {
+                text.append((char) ch);
+            }
+        }
+    }
+
+    private String readMultilineLiteralString() throws IOException {
+        text.setLength(0);
+        skipFirstNewline();
+        while (true) {
+            int ch = read();
+            if (ch == '\'') {
+                if (closesMultiline('\'')) {
+                    return text.toString();
+                }
+            } else if (ch == -1) {
+                throw error("Unterminated string");
+            } else {
+                text.append((char) ch);
+            }
+        }
+    }
+
+    private void skipFirstNewline() throws IOException {
+        if (peek() == '\r' && peek(1) == '\n') {
+            ptr++;
+        }
+        if (peek() == '\n') {
+            read();
+        }
+    }
+
+    /**
+     * Handles a quote read in a multiline string: three quotes close it, and up to two more are content.
+     */
+    private boolean closesMultiline(char quote) throws IOException {
+        int count = 1;
+        while (peek() == quote) {
+            ptr++;
+            count++;
+        }
+        if (count > 5) {
+            throw error("Too many quotes in multiline string");
+        }
+        for (int i = count < 3 ? count : count - 3; i > 0; i--) {
+            text.append(quote);
+        }
+        return count >= 3;
+    }
+
+    private void readEscape() throws IOException {
+        int ch = read();
+        switch (ch) {
+            case 'b' -> text.append('\b');
+            case 't' -> text.append('\t');
+            case 'n' -> text.append('\n');
+            case 'f' -> text.append('\f');
+            case 'r' -> text.append('\r');
+            case 'e' -> text.append('\u001B');
+            case '"' -> text.append('"');
+            case '\\' -> text.append('\\');
+            case 'u' -> text.appendCodePoint(readHex(4));
+            case 'U' -> text.appendCodePoint(readHex(8));
+            default -> throw error("Invalid escape sequence");
+        }
+    }
+
+    private int readHex(int length) throws IOException {
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw error("Invalid unicode escape");
+            }
+            value = (value << 4) | digit;
+        }
+        if (!Character.isValidCodePoint(value)) {
+            throw error("Invalid unicode escape");
+        }
+        return value;
+    }
+
+    //
+    // Characters
+    //
+
+    private void expect(char expected, String description) throws IOException {
+        skipSpaces();
+        int ch = peek();
+        if (ch != expected) {
+            throw error("Expected " + description + " but found "
+                    + (ch == -1 ? "end of input" : ch == '\n' ? "end of line" : "'" + (char) ch + "'"));
+        }
+        ptr++;
+    }
+
+    private void skipSpaces() throws IOException {
+        int ch;
+        while ((ch = peek()) == ' ' || ch == '\t') {
+            ptr++;
+        }
+    }
+
+    private void skipComment() throws IOException {
+        if (peek() == '#') {
+            int ch;
+            while ((ch = peek()) != -1 && ch != '\n') {
+                ptr++;
+            }
+        }
+    }
+
+    /**
+     * Skips whitespace, newlines and comments.
+     */
+    private void skipBlank() throws IOException {
+        while (true) {
+            int ch = peek();
+            if (ch == ' ' || ch == '\t' || ch == '\r') {
+                ptr++;
+            } else if (ch == '\n') {
+                read();
+            } else if (ch == '#') {
+                skipComment();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        return ptr < end || load(1) ? buffer[ptr] : -1;
+    }
+
+    private int peek(int offset) throws IOException {
+        return load(offset + 1) ? buffer[ptr + offset] : -1;
+    }
+
+    private int read() throws IOException {
+        int ch = peek();
+        if (ch >= 0) {
+            ptr++;
+            if (ch == '\n') {
+                line++;
+                lineStart = processed + ptr;
+            }
+        }
+        return ch;
+    }
+
+    /**
+     * Makes sure at least {@code count} characters are buffered, returning {@code false} at the end of input.
+     */
+    private boolean load(int count) throws IOException {
+        if (end - ptr >= count) {
+            return true;
+        }
+        if (eof || reader == null) {
+            return false;
+        }
+        if (ptr > 0) {
+            System.arraycopy(buffer, ptr, buffer, 0, end - ptr);
+            processed += ptr;
+            end -= ptr;
+            ptr = 0;
+        }
+        while (end < count) {
+            int read = reader.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+            end += read;
+            _streamReadConstraints.validateDocumentLength(processed + end);
+        }
+        return true;
+    }
+
+    private int column() {
+        return (int) (processed + ptr - lineStart) + 1;
+    }
+
+    private static boolean isDigit(int ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isDate(CharSequence value) {
+        return value.length() >= 10
+                && isDigit(value.charAt(0))
+                && isDigit(value.charAt(3))
+                && value.charAt(4) == '-'
+                && value.charAt(7) == '-';
+    }
+
+    private static boolean isBareKeyChar(int ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || isDigit(ch) || ch == '_' || ch == '-';
+    }
+
+    private static boolean isBareValueChar(int ch) {
+        return isBareKeyChar(ch) || ch == '+' || ch == '.' || ch == ':';
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(this, message, location(line, column()));
+    }
+
+    private JsonLocation location(int l, int c) {
+        return new JsonLocation(_contentReference(), -1L, l, c);
+    }
+
+    //
+    // JsonParser
+    //
+
+    /**
+     * Returns the location of the start of the current token.
+     */
+    @Override
+    public JsonLocation currentLocation() {
+        return location(tokenLine, tokenColumn);
+    }
+
+    @Override
+    public JsonLocation currentTokenLocation() {
+        return location(tokenLine, tokenColumn);
+    }
+
+    @Override
+    @Deprecated
+    public JsonLocation getCurrentLocation() {
+        return currentLocation();
+    }
+
+    @Override
+    @Deprecated
+    public JsonLocation getTokenLocation() {
+        return currentTokenLocation();
+    }
+
+    @Override
+    public String currentName() throws IOException {
+        if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+            JsonReadContext parent = _parsingContext.getParent();
+            return parent != null ? parent.getCurrentName() : null;
+        }
+        return _parsingContext.getCurrentName();
+    }
+
+    @Override
+    @Deprecated
+    public String getCurrentName() throws IOException {
+        return currentName();
+    }
+
+    @Override
+    public String getText() throws IOException {
+        return _currToken != null ? currentText : null;
+    }
+
+    @Override
+    public char[] getTextCharacters() throws IOException {
+        String value = getText();
+        return value != null ? value.toCharArray() : null;
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+    @Override
+    public int getTextLength() throws IOException {
+        String value = getText();
+        return value != null ? value.length() : 0;
+    }
+
+    @Override
+    public int getTextOffset() throws IOException {
+        return 0;
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.services.Sources;
+import org.junit.jupiter.api.Test;
+
+class BufferRecyclerPoolTest {
+
+    @Test
+    void testReuse() {
+        BufferRecyclerPool pool = new BufferRecyclerPool(2);
+        BufferRecycler first = pool.acquirePooled();
+        BufferRecycler second = pool.acquirePooled();
+        assertNotSame(first, second);
+        pool.releasePooled(first);
+        assertEquals(1, pool.pooledCount());
+        assertSame(first, pool.acquirePooled());
+        assertEquals(0, pool.pooledCount());
+    }
+
+    @Test
+    void testBounded() {
+        BufferRecyclerPool pool = new BufferRecyclerPool(2);
+        for (int i = 0; i < 5; i++) {
+            pool.releasePooled(new BufferRecycler());
+        }
+        assertEquals(2, pool.pooledCount());
+        assertTrue(pool.clear());
+        assertEquals(0, pool.pooledCount());
+    }
+
+    @Test
+    void testRecyclersAreNeverShared() throws Exception {
+        BufferRecyclerPool pool = new BufferRecyclerPool(4);
+        Set<BufferRecycler> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        BufferRecycler recycler = pool.acquirePooled();
+                        assertTrue(inUse.add(recycler), "recycler acquired twice");
+                        inUse.remove(recycler);
+                        pool.releasePooled(recycler);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(pool.pooledCount() <= pool.capacity());
+    }
+
+    @Test
+    void testParsersGiveBackTheirBuffers() {
+        MasonParser parser = new MasonParser();
+        assertEquals(0, parser.recyclerPool().pooledCount());
+        for (String file : List.of("example.yaml", "example.json", "example.toml", "example.hocon")) {
+            parser.parse(Sources.fromPath(Path.of("src/test/resources", file)), Map.of());
+            // a single recycler, handed back by each parser when the reader closes it
+            assertEquals(1, parser.recyclerPool().pooledCount(), file);
+        }
+    }
+}
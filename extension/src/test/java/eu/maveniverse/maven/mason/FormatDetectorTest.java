@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class FormatDetectorTest {
+
+    @ParameterizedTest
+    @CsvSource({"example.yaml, yaml", "example.json, json", "example.toml, toml", "example.hocon, hocon"})
+    void testExamples(String filename, String format) throws IOException {
+        byte[] content = Files.readAllBytes(Path.of("src/test/resources").resolve(filename));
+        assertEquals(format, FormatDetector.detect(ByteBuffer.wrap(content)));
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+            delimiter = '|',
+            value = {
+                "'// comment\\n/* block\\n comment */\\n{ modelVersion: \"4.0.0\" }' | json",
+                "'---\\nmodelVersion: 4.0.0' | yaml",
+                "'modelVersion: 4.0.0\\nbuild {\\n}' | hocon",
+                "'artifactId = bare' | hocon",
+                "'modelVersion = \"4.0.0\"' | toml",
+                "'# comment\\n[build]\\nplugins = []' | toml"
+            })
+    void testSnippets(String content, String format) {
+        byte[] bytes = content.replace("\\n", "\n").getBytes(StandardCharsets.UTF_8);
+        assertEquals(format, FormatDetector.detect(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void testUnknownContent() {
+        assertNull(FormatDetector.detect(ByteBuffer.wrap("<project/>".getBytes(StandardCharsets.UTF_8))));
+        assertNull(FormatDetector.detect(ByteBuffer.allocate(0)));
+    }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxWriter;
+import org.junit.jupiter.api.Test;
+
+class InterpolationTemplatesTest {
+
+    private static final Map<String, String> PROPERTIES = Map.of("maven.version", "4.0.0", "name", "mason");
+
+    @Test
+    void testCompile() {
+        InterpolationTemplates.Template template =
+                new InterpolationTemplates().compile("a-${maven.version}-b${name}${missing}-c");
+        assertEquals(List.of("maven.version", "name", "missing"), template.expressions());
+        assertEquals("a-4.0.0-bmason${missing}-c", template.interpolate(PROPERTIES::get));
+    }
+
+    @Test
+    void testUnterminatedPlaceholderIsLiteral() {
+        InterpolationTemplates templates = new InterpolationTemplates();
+        assertEquals("4.0.0-${name", templates.interpolate("${maven.version}-${name", PROPERTIES::get));
+        assertEquals(List.of(), templates.compile("${oops").expressions());
+    }
+
+    @Test
+    void testTemplatesAreShared() {
+        InterpolationTemplates templates = new InterpolationTemplates();
+        String value = "${maven.version}";
+        InterpolationTemplates.Template template = templates.compile(value);
+        assertSame(template, templates.compile(new String(value)));
+        assertSame(value, templates.canonical(new String(value)));
+
+        String plain = new String("1.0");
+        assertFalse(InterpolationTemplates.hasPlaceholder(plain));
+        assertSame(plain, templates.canonical(plain));
+        assertEquals(1, templates.size());
+    }
+
+    @Test
+    void testCacheIsBoundedByLength() {
+        InterpolationTemplates templates = new InterpolationTemplates();
+        String large = "${name}" + "x".repeat((int) InterpolationTemplates.MAX_CACHED_CHARS);
+        assertEquals("mason", templates.compile(large).interpolate(PROPERTIES::get).substring(0, 5));
+        assertEquals(0, templates.size());
+        templates.compile("${name}");
+        assertEquals(1, templates.size());
+    }
+
+    @Test
+    void testReaderInterpolatesCompiledTemplates() throws Exception {
+        InterpolationTemplates templates = new InterpolationTemplates();
+        MavenJsonReader reader = new MavenJsonReader(templates.transformer(PROPERTIES::get));
+        reader.setInterpolationTemplates(templates);
+        Model model = reader.read(new StringReader("""
+                {"modelVersion": "4.0.0", "version": "${maven.version}", "name": "${name}-app"}
+                """));
+        assertEquals("4.0.0", model.getVersion());
+        assertEquals("mason-app", model.getName());
+        assertEquals(2, templates.size());
+    }
+
+    @Test
+    void testParserSharesValuesWithPlaceholders() throws Exception {
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.INTERPOLATION_TEMPLATES, true);
+        Model first = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.yaml")), options);
+        Model second = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.json")), options);
+
+        String version = first.getDependencies().get(0).getVersion();
+        assertTrue(InterpolationTemplates.hasPlaceholder(version));
+        assertSame(version, first.getDependencies().get(1).getVersion());
+        assertSame(version, second.getDependencies().get(0).getVersion());
+
+        Model plain = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.yaml")), Map.of());
+        assertEquals(write(plain), write(first));
+    }
+
+    private static String write(Model model) throws Exception {
+        StringWriter sw = new StringWriter(1024);
+        MavenStaxWriter writer = new MavenStaxWriter();
+        writer.setAddLocationInformation(false);
+        writer.write(sw, model);
+        return sw.toString();
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import java.nio.file.Path;
+import java.util.Map;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.api.xml.XmlNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LazyXmlNodeTest {
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "yaml/build-plugin-config-attributes.yaml",
+                "yaml/build-plugin-config-nested.yaml",
+                "yaml/anchors.yaml",
+                "example.yaml",
+                "example.json",
+                "example.hocon"
+            })
+    void testLazyConfigurationsMatchEagerOnes(String filename) throws Exception {
+        Model eager = parse(filename, Map.of());
+        Model lazy = parse(filename, Map.of(MasonParser.LAZY_XML_NODES, true));
+
+        int plugins = eager.getBuild().getPlugins().size();
+        for (int i = 0; i < plugins; i++) {
+            XmlNode actual = lazy.getBuild().getPlugins().get(i).getConfiguration();
+            if (actual != null) {
+                assertInstanceOf(LazyXmlNode.class, actual);
+                assertNotNull(actual.name());
+                assertNotNull(actual.inputLocation());
+                assertFalse(((LazyXmlNode) actual).isBuilt());
+            }
+        }
+        for (int i = 0; i < plugins; i++) {
+            XmlNode expected = eager.getBuild().getPlugins().get(i).getConfiguration();
+            XmlNode actual = lazy.getBuild().getPlugins().get(i).getConfiguration();
+            assertEquals(expected, actual);
+            if (actual != null) {
+                assertEquals(expected.toString(), actual.toString());
+                assertTrue(((LazyXmlNode) actual).isBuilt());
+            }
+        }
+    }
+
+    @Test
+    void testReplayTracksTheParsingContext() throws Exception {
+        TokenTape tape = new TokenTape(true);
+        try (JsonParser parser = new JsonFactory().createParser("{\"a\": [1, {\"b\": \"c\"}]}")) {
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                tape.add(token, token == JsonToken.FIELD_NAME || token.isScalarValue() ? parser.getText() : null, parser);
+            }
+        }
+        TokenTape.Replay replay = tape.replay("root", 0, tape.size());
+        assertTrue(replay.getParsingContext().inRoot());
+        while (replay.nextToken() != JsonToken.VALUE_STRING) {
+            // advance to "c"
+        }
+        JsonStreamContext context = replay.getParsingContext();
+        assertTrue(context.inObject());
+        assertEquals("b", context.getCurrentName());
+        assertTrue(context.getParent().inArray());
+        assertEquals(1, context.getParent().getCurrentIndex());
+        assertEquals("a", context.getParent().getParent().getCurrentName());
+        while (replay.nextToken() != null) {
+            // advance to the end
+        }
+        assertTrue(replay.getParsingContext().inRoot());
+    }
+
+    private Model parse(String filename, Map<String, ?> options) {
+        return new MasonParser().parse(Sources.fromPath(Path.of("src/test/resources", filename)), options);
+    }
+}
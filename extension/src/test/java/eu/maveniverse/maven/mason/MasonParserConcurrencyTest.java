@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Hammers a single shared {@link MasonParser}, as Maven does when building models in parallel,
+ * and checks every result against a single-threaded parse of the same file.
+ */
+class MasonParserConcurrencyTest {
+
+    private static final List<String> FILES =
+            List.of("example.yaml", "example.json", "example.toml", "example.hocon", "yaml/anchors.yaml");
+
+    private static final int ITERATIONS = 50;
+
+    private final MasonParser parser = new MasonParser();
+    private final Map<String, String> expected = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (String file : FILES) {
+            expected.put(file, write(parse(file, Map.of())));
+        }
+    }
+
+    @Test
+    void testPlatformThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        try {
+            hammer(executor, 32);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testVirtualThreads() throws Exception {
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            assumeTrue(false, "Virtual threads require Java 21+");
+            return;
+        }
+        try {
+            hammer(executor, 256);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWithInterningAndLazyConfigurations() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < 16; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        String file = FILES.get((i + offset) % FILES.size());
+                        Map<String, Object> options = Map.of(
+                                MasonParser.INTERN_XML_NODES, i % 2 == 0, MasonParser.LAZY_XML_NODES, i % 3 == 0);
+                        assertEquals(expected.get(file), write(parse(file, options)), file);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void hammer(ExecutorService executor, int tasks) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < tasks; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    String file = FILES.get((i + offset) % FILES.size());
+                    Path path = Path.of("src/test/resources", file);
+                    assertTrue(parser.locate(Path.of("src/test/resources/yaml"))
+                            .orElseThrow()
+                            .getPath()
+                            .endsWith(Path.of("yaml", "pom.yaml")));
+                    assertEquals(expected.get(file), write(parse(file, Map.of())), path.toString());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+    }
+
+    private Model parse(String file, Map<String, ?> options) {
+        return parser.parse(Sources.fromPath(Path.of("src/test/resources", file)), options);
+    }
+
+    private static String write(Model model) throws Exception {
+        StringWriter sw = new StringWriter(1024);
+        MavenStaxWriter writer = new MavenStaxWriter();
+        writer.setAddLocationInformation(false);
+        writer.write(sw, model);
+        return sw.toString();
+    }
+}
@@ -15,17 +15,23 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import javax.xml.stream.XMLStreamException;
 import org.apache.maven.api.model.Model;
 import org.apache.maven.api.services.Source;
 import org.apache.maven.api.services.Sources;
+import org.apache.maven.api.spi.ModelParserException;
 import org.apache.maven.model.v4.MavenStaxReader;
 import org.apache.maven.model.v4.MavenStaxWriter;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 class MasonParserTest {
@@ -49,6 +55,190 @@ class MasonParserTest {
         assertModelEquals(referenceModel, parsedModel);
     }
 
+    @ParameterizedTest
+    @CsvSource({"example.yaml, 15", "example.json, 23", "example.toml, 14", "example.hocon, 4"})
+    void shouldTrackTheLocationOfEachField(String filename, int packagingLine) {
+        Model parsedModel = parseFile(filename);
+        assertEquals(packagingLine, parsedModel.getLocation("packaging").getLineNumber());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"example.yaml", "example.json", "example.toml", "example.hocon"})
+    void shouldParseWithoutLocations(String filename) {
+        Path path = Path.of("src/test/resources").resolve(filename);
+        Model parsedModel = parser.parse(Sources.fromPath(path), Map.of(MasonParser.LOCATION_TRACKING, false));
+        assertModelEquals(referenceModel, parsedModel);
+        assertNull(parsedModel.getLocation(""));
+        assertNull(parsedModel.getLocation("modelVersion"));
+        assertNull(parsedModel.getDependencies().get(0).getLocation("groupId"));
+        assertNull(parsedModel.getLocation("properties"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"example.yaml", "example.json", "example.toml", "example.hocon"})
+    void shouldParseHeaderOnly(String filename) {
+        Path path = Path.of("src/test/resources").resolve(filename);
+        Model header = parser.parseHeader(Sources.fromPath(path), OPTIONS);
+        assertEquals(referenceModel.getGroupId(), header.getGroupId());
+        assertEquals(referenceModel.getArtifactId(), header.getArtifactId());
+        assertEquals(referenceModel.getVersion(), header.getVersion());
+        assertEquals(referenceModel.getPackaging(), header.getPackaging());
+        assertEquals(referenceModel.getParent().getArtifactId(), header.getParent().getArtifactId());
+        assertEquals(referenceModel.getParent().getVersion(), header.getParent().getVersion());
+        assertTrue(header.getDependencies().isEmpty());
+        assertTrue(header.getProperties().isEmpty());
+        assertNull(header.getBuild());
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldStopReadingOnceTheHeaderIsComplete(@TempDir Path dir) throws IOException {
+        Path pom = Files.writeString(
+                dir.resolve("pom.json"),
+                "{\n"
+                        + "  \"parent\": \"org.example:parent:1\",\n"
+                        + "  \"id\": \"org.example:child:1\",\n"
+                        + "  \"packaging\": \"pom\",\n"
+                        + "  \"subprojects\": [\"a\", \"b\"],\n"
+                        + "  \"build\": { \"plugins\": [ }\n"
+                        + "}\n");
+        Model header = parser.parseHeader(Sources.fromPath(pom), OPTIONS);
+        assertEquals("child", header.getArtifactId());
+        assertEquals("pom", header.getPackaging());
+        assertEquals(List.of("a", "b"), header.getSubprojects());
+        assertThrows(ModelParserException.class, () -> parser.parse(Sources.fromPath(pom), OPTIONS));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"example.yaml", "example.json", "example.toml", "example.hocon"})
+    void shouldParseInMemoryContent(String filename) throws IOException {
+        byte[] content = Files.readAllBytes(Path.of("src/test/resources").resolve(filename));
+        assertModelEquals(referenceModel, parser.parse(content, OPTIONS));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length).put(content).flip();
+        Model parsedModel = parser.parse(direct, OPTIONS);
+        assertModelEquals(referenceModel, parsedModel);
+        assertEquals(0, direct.position());
+        assertNull(parsedModel.getLocation("").getSource().getLocation());
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldUseTheFormatOption() {
+        byte[] content = "artifactId = bare\nmodelVersion = 4.0.0".getBytes(StandardCharsets.UTF_8);
+        assertEquals("bare", parser.parse(content, OPTIONS).getArtifactId());
+        assertThrows(
+                ModelParserException.class, () -> parser.parse(content, Map.of(MasonParser.FORMAT, "toml")));
+        assertThrows(
+                ModelParserException.class,
+                () -> parser.parse("<project/>".getBytes(StandardCharsets.UTF_8), OPTIONS));
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldMergeHoconObjects() {
+        byte[] content = """
+                modelVersion = 4.0.0
+                artifactId = merged
+                properties.maven.compiler.release = 17
+                build { directory = out }
+                build { finalName = app }
+                """
+                .getBytes(StandardCharsets.UTF_8);
+        Model model = parser.parse(content, Map.of(MasonParser.FORMAT, "hocon"));
+        assertEquals("17", model.getProperties().get("maven.compiler.release"));
+        assertEquals("out", model.getBuild().getDirectory());
+        assertEquals("app", model.getBuild().getFinalName());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "yaml", "toml"})
+    void shouldOnlyFlattenNestedPropertiesInHocon(String format) {
+        String content =
+                switch (format) {
+                    case "json" -> """
+                            {"modelVersion": "4.0.0", "artifactId": "nested", "properties": {"maven": {"compiler": "17"}}}
+                            """;
+                    case "yaml" -> """
+                            modelVersion: 4.0.0
+                            artifactId: nested
+                            properties:
+                              maven:
+                                compiler: 17
+                            """;
+                    default -> """
+                            modelVersion = "4.0.0"
+                            artifactId = "nested"
+                            [properties.maven]
+                            compiler = "17"
+                            """;
+                };
+        assertThrows(
+                ModelParserException.class,
+                () -> parser.parse(content.getBytes(StandardCharsets.UTF_8), Map.of(MasonParser.FORMAT, format)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"example.yaml, 15", "example.json, 23", "example.toml, 14", "example.hocon, 4"})
+    void shouldParseFedChunks(String filename, int packagingLine) throws IOException {
+        Path path = Path.of("src/test/resources").resolve(filename);
+        byte[] content = Files.readAllBytes(path);
+        ModelFeeder feeder = parser.feeder(Sources.fromPath(path), OPTIONS);
+        ByteBuffer chunk = ByteBuffer.allocate(7);
+        for (int offset = 0; offset < content.length; offset += chunk.capacity()) {
+            chunk.clear();
+            chunk.put(content, offset, Math.min(chunk.capacity(), content.length - offset));
+            feeder.feed(chunk.flip());
+            assertFalse(chunk.hasRemaining());
+        }
+        Model parsedModel = feeder.complete();
+        assertModelEquals(referenceModel, parsedModel);
+        assertEquals(packagingLine, parsedModel.getLocation("packaging").getLineNumber());
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldReportMalformedJsonWhileFeeding() {
+        ModelFeeder feeder = parser.feeder(Sources.fromPath(Path.of("pom.json")), OPTIONS);
+        byte[] valid = "{\"modelVersion\": \"4.0.0\", ".getBytes(StandardCharsets.UTF_8);
+        feeder.feed(valid, 0, valid.length);
+        byte[] invalid = "\"packaging\": ]".getBytes(StandardCharsets.UTF_8);
+        assertThrows(ModelParserException.class, () -> feeder.feed(invalid, 0, invalid.length));
+        assertThrows(IllegalStateException.class, feeder::complete);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "toml"})
+    void shouldReadHeaderFieldsFollowingOtherFields(String format, @TempDir Path dir) throws IOException {
+        String content =
+                switch (format) {
+                    case "json" -> """
+                            {
+                              "modelVersion": "4.0.0",
+                              "artifactId": "child",
+                              "scm": { "url": "https://example.org/scm" },
+                              "dependencies": ["org.example:lib:1"],
+                              "parent": "org.example:parent:1",
+                              "subprojects": ["a", "b"]
+                            }
+                            """;
+                    default -> """
+                            modelVersion = "4.0.0"
+                            artifactId = "child"
+                            dependencies = ["org.example:lib:1"]
+                            subprojects = ["a", "b"]
+                            scm = { url = "https://example.org/scm" }
+                            [parent]
+                            groupId = "org.example"
+                            artifactId = "parent"
+                            version = "1"
+                            """;
+                };
+        Path pom = Files.writeString(dir.resolve("pom." + format), content);
+        Model header = parser.parseHeader(Sources.fromPath(pom), OPTIONS);
+        assertEquals("child", header.getArtifactId());
+        assertEquals("parent", header.getParent().getArtifactId());
+        assertEquals(List.of("a", "b"), header.getSubprojects());
+        assertTrue(header.getDependencies().isEmpty());
+        assertNull(header.getScm());
+    }
+
     @org.junit.jupiter.api.Test
     void shouldParseHoconWithCorrectLineNumbers() throws Exception {
         Model parsedModel = parseFile("example.hocon");
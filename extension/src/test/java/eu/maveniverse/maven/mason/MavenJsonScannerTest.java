@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MavenJsonScannerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"example.yaml", "example.json", "example.toml", "example.hocon"})
+    void shouldReportDependenciesAndPlugins(String filename) throws Exception {
+        Model reference = new MavenStaxReader()
+                .read(new StringReader(Files.readString(Path.of("src/test/resources/example.xml"))));
+        List<String> dependencies = new ArrayList<>();
+        List<String> plugins = new ArrayList<>();
+        List<Integer> lines = new ArrayList<>();
+
+        MasonParser parser = new MasonParser();
+        Path path = Path.of("src/test/resources").resolve(filename);
+        parser.scan(Sources.fromPath(path), new MavenJsonScanner.Visitor() {
+            @Override
+            public void onDependency(
+                    String groupId,
+                    String artifactId,
+                    String version,
+                    String type,
+                    String classifier,
+                    String scope,
+                    String systemPath,
+                    String optional,
+                    JsonLocation location) {
+                dependencies.add(groupId + ":" + artifactId + ":" + version + "@" + scope);
+                lines.add(location.getLineNr());
+            }
+
+            @Override
+            public void onPlugin(
+                    String groupId,
+                    String artifactId,
+                    String version,
+                    String extensions,
+                    String inherited,
+                    JsonLocation location) {
+                plugins.add(groupId + ":" + artifactId + ":" + version);
+            }
+        });
+
+        List<Dependency> expected = new ArrayList<>(reference.getDependencies());
+        if (reference.getDependencyManagement() != null) {
+            expected.addAll(reference.getDependencyManagement().getDependencies());
+        }
+        reference.getBuild().getPlugins().forEach(p -> expected.addAll(p.getDependencies()));
+        assertEquals(
+                expected.stream()
+                        .map(d -> d.getGroupId() + ":" + d.getArtifactId() + ":" + d.getVersion() + "@" + d.getScope())
+                        .sorted()
+                        .toList(),
+                dependencies.stream().sorted().toList());
+        assertEquals(
+                reference.getBuild().getPlugins().stream()
+                        .map(p -> p.getGroupId() + ":" + p.getArtifactId() + ":" + p.getVersion())
+                        .toList(),
+                plugins);
+        assertTrue(lines.stream().allMatch(line -> line > 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"example.yaml", "example.json", "example.toml", "example.hocon"})
+    void shouldSkipElementsTheVisitorIsNotInterestedIn(String filename) {
+        List<String> reported = new ArrayList<>();
+        MasonParser parser = new MasonParser();
+        Path path = Path.of("src/test/resources").resolve(filename);
+        parser.scan(Sources.fromPath(path), new MavenJsonScanner.Visitor() {
+            @Override
+            public boolean enterBuild(JsonLocation location) {
+                return false;
+            }
+
+            @Override
+            public boolean enterDependencyManagement(JsonLocation location) {
+                return false;
+            }
+
+            @Override
+            public void onPlugin(
+                    String groupId,
+                    String artifactId,
+                    String version,
+                    String extensions,
+                    String inherited,
+                    JsonLocation location) {
+                reported.add(artifactId);
+            }
+
+            @Override
+            public void onDependency(
+                    String groupId,
+                    String artifactId,
+                    String version,
+                    String type,
+                    String classifier,
+                    String scope,
+                    String systemPath,
+                    String optional,
+                    JsonLocation location) {
+                reported.add(artifactId);
+            }
+        });
+
+        Model model = parser.parse(Sources.fromPath(path), Map.of());
+        assertEquals(model.getDependencies().stream().map(Dependency::getArtifactId).toList(), reported);
+    }
+}
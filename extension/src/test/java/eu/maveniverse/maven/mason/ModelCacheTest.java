@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModelCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testCachedModelIsReusedUntilTheFileChanges() throws Exception {
+        Path pom = copyExample();
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.CACHE_MODELS, true);
+
+        Model first = parser.parse(Sources.fromPath(pom), options);
+        assertSame(first, parser.parse(Sources.fromPath(pom), options));
+        assertNotSame(first, parser.parse(Sources.fromPath(pom), Map.of()));
+        assertNotSame(
+                first, parser.parse(Sources.fromPath(pom), Map.of(MasonParser.CACHE_MODELS, true, "strict", false)));
+        assertNotSame(
+                first,
+                parser.parse(Sources.fromPath(pom), Map.of(MasonParser.CACHE_MODELS, true, MasonParser.FORMAT, "yaml")));
+        assertNotSame(
+                first,
+                parser.parse(
+                        Sources.fromPath(pom),
+                        Map.of(MasonParser.CACHE_MODELS, true, MasonParser.INTERPOLATION_TEMPLATES, true)));
+
+        FileTime modified = Files.getLastModifiedTime(pom);
+        Files.writeString(pom, Files.readString(pom).replace("packaging: jar", "packaging: pom"));
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(modified.toMillis() + 10_000));
+        Model second = parser.parse(Sources.fromPath(pom), options);
+        assertNotSame(first, second);
+        assertEquals("pom", second.getPackaging());
+    }
+
+    @Test
+    void testTouchedPomIsReusedWhenContentIsUnchanged() throws Exception {
+        Path pom = copyExample();
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.CACHE_MODELS, true);
+
+        Model first = parser.parse(Sources.fromPath(pom), options);
+        FileTime modified = Files.getLastModifiedTime(pom);
+        Files.write(pom, Files.readAllBytes(pom));
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(modified.toMillis() + 10_000));
+        assertSame(first, parser.parse(Sources.fromPath(pom), options));
+    }
+
+    @Test
+    void testIncrementalReparseReusesUnchangedElements() throws Exception {
+        Path pom = copyExample();
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.CACHE_MODELS, true, MasonParser.INCREMENTAL, true);
+
+        Model first = parser.parse(Sources.fromPath(pom), options);
+        FileTime modified = Files.getLastModifiedTime(pom);
+        Files.writeString(
+                pom,
+                Files.readString(pom)
+                        .replace("packaging: jar", "packaging: war")
+                        .replace("version: 4.2.0", "version: 4.2.1"));
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(modified.toMillis() + 10_000));
+        Model second = parser.parse(Sources.fromPath(pom), options);
+
+        assertEquals("war", second.getPackaging());
+        for (int i = 0; i < first.getDependencies().size(); i++) {
+            assertSame(first.getDependencies().get(i), second.getDependencies().get(i));
+        }
+        assertSame(
+                first.getDependencyManagement().getDependencies().get(0),
+                second.getDependencyManagement().getDependencies().get(0));
+        List<Plugin> plugins = first.getBuild().getPlugins();
+        List<Plugin> newPlugins = second.getBuild().getPlugins();
+        assertSame(plugins.get(0), newPlugins.get(0));
+        assertNotSame(plugins.get(1), newPlugins.get(1));
+        assertEquals(
+                "4.2.1",
+                newPlugins.get(1).getExecutions().get(0).getConfiguration().child("version").value());
+        for (int i = 2; i < plugins.size(); i++) {
+            assertSame(plugins.get(i), newPlugins.get(i));
+        }
+
+        // shifted lines change locations, which are not reused
+        modified = Files.getLastModifiedTime(pom);
+        Files.writeString(pom, Files.readString(pom).replace("packaging: war", "\npackaging: war"));
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(modified.toMillis() + 20_000));
+        Model third = parser.parse(Sources.fromPath(pom), options);
+        assertNotSame(second.getDependencies().get(0), third.getDependencies().get(0));
+        assertEquals(
+                second.getDependencies().get(0).getLocation("").getLineNumber() + 1,
+                third.getDependencies().get(0).getLocation("").getLineNumber());
+    }
+
+    @Test
+    void testColdModelsAreInflatedWithTheirLocations() throws Exception {
+        Path[] poms = new Path[3];
+        for (int i = 0; i < poms.length; i++) {
+            poms[i] = dir.resolve("m" + i + "/pom.yaml");
+            Files.createDirectories(poms[i].getParent());
+            Files.copy(Path.of("src/test/resources/example.yaml"), poms[i]);
+        }
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.CACHE_MODELS, true, MasonParser.CACHE_HOT_MODELS, 1);
+
+        Model[] models = new Model[poms.length];
+        for (int i = 0; i < poms.length; i++) {
+            models[i] = parser.parse(Sources.fromPath(poms[i]), options);
+        }
+        MasonParser.CacheStatistics statistics = parser.cacheStatistics();
+        assertEquals(3, statistics.misses());
+        assertEquals(1, statistics.hotModels());
+        assertEquals(2, statistics.coldModels());
+        assertTrue(statistics.coldBytes() > 0 && statistics.coldBytes() < 2 * Files.size(poms[0]));
+
+        Model inflated = parser.parse(Sources.fromPath(poms[0]), options);
+        assertNotSame(models[0], inflated);
+        assertEquals(xml(models[0]), xml(inflated));
+        assertSame(inflated, parser.parse(Sources.fromPath(poms[0]), options));
+        statistics = parser.cacheStatistics();
+        assertEquals(3, statistics.misses());
+        assertEquals(2, statistics.hits());
+        assertEquals(1, statistics.inflations());
+        assertEquals(2, statistics.coldModels());
+
+        // no room for compressed models: they are parsed again
+        options = Map.of(
+                MasonParser.CACHE_MODELS, true, MasonParser.CACHE_HOT_MODELS, 1, MasonParser.CACHE_COLD_BYTES, 0);
+        parser.parse(Sources.fromPath(poms[1]), options);
+        parser.parse(Sources.fromPath(poms[2]), options);
+        statistics = parser.cacheStatistics();
+        assertEquals(1, statistics.hotModels());
+        assertEquals(0, statistics.coldModels());
+        assertEquals(0, statistics.coldBytes());
+        assertTrue(statistics.drops() >= 2);
+    }
+
+    @Test
+    void testFingerprintIncludesLength() {
+        assertNotEquals(ModelCache.fingerprint(1, 0xCAFEBABEL), ModelCache.fingerprint(2, 0xCAFEBABEL));
+        assertEquals(0xCAFEBABEL, ModelCache.fingerprint(0, 0xCAFEBABEL));
+    }
+
+    @Test
+    void testWatcherInvalidatesChangedPoms() throws Exception {
+        Path pom = copyExample();
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.WATCH_POMS, true);
+
+        assertEquals(pom, parser.locate(dir).orElseThrow().getPath());
+        Model first = parser.parse(Sources.fromPath(pom), options);
+        assertSame(first, parser.parse(Sources.fromPath(pom), options));
+
+        // same size and modification time: only the watcher can tell
+        FileTime modified = Files.getLastModifiedTime(pom);
+        Files.writeString(pom, Files.readString(pom).replace("packaging: jar", "packaging: war"));
+        Files.setLastModifiedTime(pom, modified);
+
+        Model second = first;
+        for (int i = 0; i < 300 && second == first; i++) {
+            Thread.sleep(100);
+            second = parser.parse(Sources.fromPath(pom), options);
+        }
+        assertEquals("war", second.getPackaging());
+        assertSame(second, parser.parse(Sources.fromPath(pom), options));
+    }
+
+    @Test
+    void testWatcherGenerations() throws Exception {
+        try (PomWatcher watcher = new PomWatcher(p -> {})) {
+            assertEquals(-1, watcher.generation(dir));
+            watcher.register(dir);
+            long generation = watcher.generation(dir);
+            assertTrue(generation >= 0);
+
+            Files.writeString(dir.resolve("README.md"), "not a pom");
+            Files.writeString(dir.resolve("pom.json"), "{}");
+            for (int i = 0; i < 300 && watcher.generation(dir) == generation; i++) {
+                Thread.sleep(100);
+            }
+            assertTrue(watcher.generation(dir) > generation);
+        }
+    }
+
+    @Test
+    void testUnwatchableDirectories() throws Exception {
+        try (PomWatcher watcher = new PomWatcher(p -> {})) {
+            Path missing = dir.resolve("missing");
+            watcher.register(missing);
+            assertEquals(-1, watcher.generation(missing));
+            // remembered as not watchable, even once it exists
+            Files.createDirectories(missing);
+            watcher.register(missing);
+            assertEquals(-1, watcher.generation(missing));
+        }
+    }
+
+    private static String xml(Model model) throws Exception {
+        StringWriter writer = new StringWriter();
+        MavenStaxWriter staxWriter = new MavenStaxWriter();
+        staxWriter.setAddLocationInformation(true);
+        staxWriter.write(writer, model);
+        return writer.toString();
+    }
+
+    private Path copyExample() throws Exception {
+        Path pom = dir.resolve("pom.yaml");
+        Files.copy(Path.of("src/test/resources/example.yaml"), pom);
+        return pom;
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Exclusion;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.api.xml.XmlNode;
+import org.junit.jupiter.api.Test;
+
+class ModelElementInternerTest {
+
+    @Test
+    void testIdenticalDependenciesAreShared() {
+        ModelElementInterner interner = new ModelElementInterner();
+        Dependency first = interner.intern(dependency("test"));
+        assertSame(first, interner.intern(dependency("test")));
+        assertNotSame(first, interner.intern(dependency("provided")));
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    void testPluginsAreComparedByContent() {
+        ModelElementInterner interner = new ModelElementInterner();
+        Plugin first = interner.intern(plugin("17"));
+        assertSame(first, interner.intern(plugin("17")));
+        // same coordinates, hence equal according to Plugin.equals(), but another configuration
+        Plugin other = interner.intern(plugin("21"));
+        assertEquals(first, other);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    void testParserSharesIdenticalDeclarations() throws Exception {
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.INTERN_ELEMENTS, true, MasonParser.LOCATION_TRACKING, false);
+        Model first = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.yaml")), options);
+        Model second = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.json")), options);
+
+        assertSame(first.getDependencies().get(0), second.getDependencies().get(0));
+        assertSame(first.getBuild().getPlugins().get(0), second.getBuild().getPlugins().get(0));
+    }
+
+    @Test
+    void testElementsWithLocationsAreNotShared() throws Exception {
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.INTERN_ELEMENTS, true);
+        Model first = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.yaml")), options);
+        Model second = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.json")), options);
+
+        assertNotSame(first.getDependencies().get(0), second.getDependencies().get(0));
+    }
+
+    private static Dependency dependency(String scope) {
+        return Dependency.newBuilder()
+                .groupId("org.junit.jupiter")
+                .artifactId("junit-jupiter-api")
+                .scope(scope)
+                .exclusions(List.of(Exclusion.newBuilder()
+                        .groupId("org.opentest4j")
+                        .artifactId("opentest4j")
+                        .build()))
+                .build();
+    }
+
+    private static Plugin plugin(String release) {
+        return Plugin.newBuilder()
+                .groupId("org.apache.maven.plugins")
+                .artifactId("maven-compiler-plugin")
+                .version("3.14.0")
+                .configuration(XmlNode.newInstance(
+                        "configuration", null, Map.of(), List.of(XmlNode.newInstance("release", release)), null))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.apache.maven.model.v4.MavenStaxWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PomConverterTest {
+
+    private static final Path EXAMPLE = Path.of("src/test/resources/example.xml");
+
+    @TempDir
+    Path root;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"yaml", "json", "hocon"})
+    void shouldConvertATreeAndBack(String format) throws Exception {
+        Path[] dirs = {root, root.resolve("a"), root.resolve("a/b"), root.resolve("c")};
+        for (Path dir : dirs) {
+            Files.createDirectories(dir);
+            Files.copy(EXAMPLE, dir.resolve("pom.xml"));
+        }
+        Files.createDirectories(root.resolve("target/classes"));
+        Files.copy(EXAMPLE, root.resolve("target/classes/pom.xml"));
+
+        PomConverter.Result result = new PomConverter(format, true).convert(root, 2);
+        assertEquals(Map.of(), result.failures());
+        assertEquals(dirs.length, result.converted());
+        assertTrue(Files.exists(root.resolve("target/classes/pom.xml")));
+
+        Model expected = new MavenStaxReader().read(Files.newInputStream(EXAMPLE));
+        MasonParser parser = new MasonParser();
+        for (Path dir : dirs) {
+            assertFalse(Files.exists(dir.resolve("pom.xml")));
+            Path pom = parser.locate(dir).orElseThrow().getPath();
+            assertEquals(xml(expected), xml(parser.parse(Sources.fromPath(pom), Map.of())));
+        }
+
+        result = new PomConverter("xml", false).convert(root, 2);
+        assertEquals(Map.of(), result.failures());
+        assertEquals(dirs.length, result.converted());
+        for (Path dir : dirs) {
+            assertEquals(xml(expected), xml(new MavenStaxReader().read(Files.newInputStream(dir.resolve("pom.xml")))));
+        }
+    }
+
+    @Test
+    void shouldSkipExistingTargetsAndReportFailures() throws Exception {
+        Files.copy(EXAMPLE, root.resolve("pom.xml"));
+        Files.writeString(root.resolve("pom.yaml"), "artifactId: existing");
+        Files.createDirectories(root.resolve("broken"));
+        Files.writeString(root.resolve("broken/pom.xml"), "<project><artifactId>");
+
+        PomConverter.Result result = new PomConverter("yaml", false).convert(root, 2);
+        assertEquals(0, result.converted());
+        assertEquals(1, result.skipped());
+        assertEquals(1, result.failures().size());
+        assertTrue(result.failures().containsKey(root.resolve("broken/pom.xml")));
+        assertFalse(Files.exists(root.resolve("broken/pom.yaml")));
+        assertEquals("artifactId: existing", Files.readString(root.resolve("pom.yaml")));
+    }
+
+    private static String xml(Model model) throws Exception {
+        StringWriter writer = new StringWriter();
+        MavenStaxWriter staxWriter = new MavenStaxWriter();
+        staxWriter.setAddLocationInformation(false);
+        staxWriter.write(writer, model);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.api.spi.ModelParserException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ReadLimitsTest {
+
+    private static final Map<String, Object> OPTIONS = Map.of();
+
+    /**
+     * Plugin configurations are the only part of a POM nesting arbitrarily: below the root, build, plugins,
+     * plugin and configuration levels, the nested object of these documents is at a depth of 6.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "pom.json, '{\"build\": {\"plugins\": [{\"artifactId\": \"p\", \"configuration\": {\"a\": {\"b\": \"c\"}}}]}}'",
+        "pom.yaml, 'build: {plugins: [{artifactId: p, configuration: {a: {b: c}}}]}'",
+        "pom.toml, '[build]|plugins = [ { artifactId = \"p\", configuration = { a = { b = \"c\" } } } ]'",
+        "pom.hocon, 'build { plugins = [ { artifactId = p, configuration { a { b = c } } } ] }'"
+    })
+    void shouldRejectDeeplyNestedDocuments(String name, String content, @TempDir Path dir) throws IOException {
+        Path pom = Files.writeString(dir.resolve(name), content.replace('|', '\n'));
+
+        Model model = new MasonParser().parse(Sources.fromPath(pom), OPTIONS);
+        assertEquals("p", model.getBuild().getPlugins().get(0).getArtifactId());
+
+        MasonParser parser = new MasonParser(MasonParser.constraints(Map.of(MasonParser.MAX_DEPTH, 5)));
+        assertThrows(ModelParserException.class, () -> parser.parse(Sources.fromPath(pom), OPTIONS));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "pom.json, '{\"name\": \"%s\"}'",
+        "pom.toml, 'name = \"%s\"'"
+    })
+    void shouldRejectLongStrings(String name, String content, @TempDir Path dir) throws IOException {
+        MasonParser parser = new MasonParser(MasonParser.constraints(Map.of(MasonParser.MAX_STRING_LENGTH, 1000)));
+        Path pom = Files.writeString(dir.resolve(name), content.formatted("x".repeat(2000)));
+        assertThrows(ModelParserException.class, () -> parser.parse(Sources.fromPath(pom), OPTIONS));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"example.yaml", "example.json", "example.toml", "example.hocon"})
+    void shouldRejectDocumentsWithTooManyTokens(String filename) {
+        MasonParser parser = new MasonParser(MasonParser.constraints(Map.of(MasonParser.MAX_TOKENS, 50)));
+        Path path = Path.of("src/test/resources").resolve(filename);
+        assertThrows(ModelParserException.class, () -> parser.parse(Sources.fromPath(path), OPTIONS));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"example.yaml", "example.json", "example.toml", "example.hocon"})
+    void shouldReadExamplesWithinDefaultLimits(String filename) {
+        Path path = Path.of("src/test/resources").resolve(filename);
+        Model model = new MasonParser().parse(Sources.fromPath(path), OPTIONS);
+        assertEquals("4.0.0", model.getModelVersion());
+    }
+
+    @Test
+    void shouldReadLimitsFromOptions() {
+        assertEquals(7, MasonParser.constraints(Map.of(MasonParser.MAX_DEPTH, "7")).getMaxNestingDepth());
+        assertEquals(MasonParser.DEFAULT_MAX_DEPTH, MasonParser.constraints(Map.of()).getMaxNestingDepth());
+    }
+}
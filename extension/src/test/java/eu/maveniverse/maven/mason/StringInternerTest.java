@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.util.Map;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.api.xml.XmlNode;
+import org.junit.jupiter.api.Test;
+
+class StringInternerTest {
+
+    @Test
+    void testEqualValuesAreShared() {
+        StringInterner interner = new StringInterner();
+        String value = new String("org.apache.maven");
+        assertSame(value, interner.intern(value));
+        assertSame(value, interner.intern(new String("org.apache.maven")));
+        assertNull(interner.intern(null));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void testLongValuesAreNotShared() {
+        StringInterner interner = new StringInterner();
+        String value = "x".repeat(StringInterner.MAX_LENGTH + 1);
+        assertNotSame(value, interner.intern(new String(value)));
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    void testParserSharesValuesAcrossModels() throws Exception {
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.INTERN_STRINGS, true);
+        Model first = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.yaml")), options);
+        Model second = parser.parse(Sources.fromPath(Path.of("src/test/resources/example.json")), options);
+
+        // short form in both models
+        assertSame(first.getDependencies().get(0).getGroupId(), second.getDependencies().get(0).getGroupId());
+        assertSame(first.getDependencies().get(0).getScope(), second.getDependencies().get(0).getScope());
+        assertSame(first.getParent().getGroupId(), second.getParent().getGroupId());
+
+        // DOM names and values
+        XmlNode firstItem = first.getBuild()
+                .getPlugins()
+                .get(0)
+                .getExecutions()
+                .get(0)
+                .getConfiguration()
+                .child("artifactItems")
+                .children()
+                .get(0);
+        XmlNode secondItem = second.getBuild()
+                .getPlugins()
+                .get(0)
+                .getExecutions()
+                .get(0)
+                .getConfiguration()
+                .child("artifactItems")
+                .children()
+                .get(0);
+        assertSame(firstItem.child("groupId").name(), secondItem.child("groupId").name());
+        assertSame(firstItem.child("groupId").value(), secondItem.child("groupId").value());
+        assertSame(firstItem.child("groupId").value(), first.getDependencies().get(0).getGroupId());
+    }
+}
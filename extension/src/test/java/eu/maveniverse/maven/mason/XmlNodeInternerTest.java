@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.api.xml.XmlNode;
+import org.junit.jupiter.api.Test;
+
+class XmlNodeInternerTest {
+
+    @Test
+    void testEqualTreesAreShared() {
+        XmlNodeInterner interner = new XmlNodeInterner();
+        XmlNode first = config("17", new InputLocation(1, 1, null));
+        XmlNode second = config("17", new InputLocation(42, 3, null));
+
+        XmlNode canonical = interner.intern(first);
+        assertSame(canonical, interner.intern(second));
+        assertEquals(first.inputLocation(), canonical.inputLocation());
+    }
+
+    @Test
+    void testSubtreesAreSharedAcrossDifferentTrees() {
+        XmlNodeInterner interner = new XmlNodeInterner();
+        XmlNode first = interner.intern(config("17", null));
+        XmlNode second = interner.intern(config("21", null));
+
+        assertNotSame(first, second);
+        assertSame(first.child("compilerArgs"), second.child("compilerArgs"));
+    }
+
+    @Test
+    void testDeepTreesAreInternedIteratively() {
+        XmlNodeInterner interner = new XmlNodeInterner();
+        XmlNode first = interner.intern(deep(100_000));
+        XmlNode second = interner.intern(deep(100_000));
+
+        assertSame(first, second);
+        assertEquals(100_001, interner.size());
+    }
+
+    @Test
+    void testParserSharesIdenticalConfigurations() throws Exception {
+        MasonParser parser = new MasonParser();
+        Map<String, Object> options = Map.of(MasonParser.INTERN_XML_NODES, true);
+        Model first = parser.parse(
+                Sources.fromPath(Path.of("src/test/resources/yaml/build-plugin-config-attributes.yaml")), options);
+        Model second = parser.parse(
+                Sources.fromPath(Path.of("src/test/resources/yaml/build-plugin-config-attributes.yaml")), options);
+
+        assertSame(
+                first.getBuild().getPlugins().get(0).getConfiguration(),
+                second.getBuild().getPlugins().get(0).getConfiguration());
+    }
+
+    private XmlNode deep(int depth) {
+        XmlNode node = XmlNode.newInstance("leaf", "value");
+        for (int i = 0; i < depth; i++) {
+            node = XmlNode.newInstance("node", List.of(node));
+        }
+        return node;
+    }
+
+    private XmlNode config(String release, InputLocation location) {
+        return XmlNode.newInstance(
+                "configuration",
+                null,
+                Map.of(),
+                List.of(
+                        XmlNode.newInstance("release", release),
+                        XmlNode.newInstance(
+                                "compilerArgs", List.of(XmlNode.newInstance("compilerArg", "-Xlint:all")))),
+                location);
+    }
+}
@@ -11,9 +11,13 @@
 package eu.maveniverse.maven.mason;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -31,6 +35,7 @@ import org.apache.maven.api.model.Prerequisites;
 import org.apache.maven.api.model.ReportPlugin;
 import org.apache.maven.api.model.Reporting;
 import org.apache.maven.api.services.Sources;
+import org.apache.maven.api.spi.ModelParserException;
 import org.apache.maven.api.xml.XmlNode;
 import org.apache.maven.model.v4.MavenStaxWriter;
 import org.junit.jupiter.api.Test;
@@ -445,6 +450,68 @@ class YamlParserTest {
         assertModelEquals(expected, actual);
     }
 
+    @Test
+    void testBuildPluginConfigNested() throws Exception {
+        Model actual = loadAndParse("build-plugin-config-nested.yaml");
+        XmlNode config = actual.getBuild().getPlugins().get(0).getConfiguration();
+
+        XmlNode matrices = config.child("matrices");
+        assertEquals(2, matrices.children().size());
+        assertEquals("matrice", matrices.children().get(0).name());
+        assertEquals(List.of("a", "b"), matrices.children().get(0).children().stream()
+                .map(XmlNode::value)
+                .toList());
+        assertEquals("c", matrices.children().get(1).children().get(0).value());
+
+        List<XmlNode> executions = config.child("executions").children();
+        assertEquals("execution", executions.get(0).name());
+        assertEquals("first", executions.get(0).child("id").value());
+        assertEquals(
+                "true",
+                executions.get(0).child("options").child("level").child("deep").value());
+        assertEquals("second", executions.get(1).child("id").value());
+        assertEquals("two", executions.get(1).child("steps").children().get(1).value());
+        assertEquals("step", executions.get(1).child("steps").children().get(1).name());
+    }
+
+    @Test
+    void testAnchorsAndAliases() throws Exception {
+        Model actual = loadAndParse("anchors.yaml");
+
+        Dependency managed = actual.getDependencyManagement().getDependencies().get(0);
+        assertEquals("maven-api-core", managed.getArtifactId());
+        assertSame(managed, actual.getDependencies().get(0));
+        assertSame(
+                managed.getExclusions().get(0),
+                actual.getDependencies().get(1).getExclusions().get(0));
+
+        List<Plugin> plugins = actual.getBuild().getPlugins();
+        assertEquals("1.0.0-SNAPSHOT", plugins.get(1).getVersion());
+        XmlNode config = plugins.get(0).getConfiguration();
+        assertEquals("17", config.child("release").value());
+        assertSame(config, plugins.get(1).getConfiguration());
+    }
+
+    @Test
+    void testAliasesOfTheWrongTypeAreLocated() {
+        String listOfDependencies = "modelVersion: 4.0.0\n"
+                + "dependencies: &deps\n"
+                + "  - org.example:lib:1.0\n"
+                + "subprojects: *deps\n";
+        ModelParserException e = assertThrows(ModelParserException.class, () -> parse(listOfDependencies));
+        assertTrue(e.getMessage().contains("list of Dependency where a list of String is expected at line 4"));
+
+        String scalar = "modelVersion: 4.0.0\n"
+                + "name: &name demo\n"
+                + "subprojects: *name\n";
+        e = assertThrows(ModelParserException.class, () -> parse(scalar));
+        assertTrue(e.getMessage().contains("refers to a String where a List is expected at line 3"));
+    }
+
+    private static Model parse(String yaml) {
+        return new MasonParser().parse(yaml.getBytes(StandardCharsets.UTF_8), Map.of(MasonParser.FORMAT, "yaml"));
+    }
+
     private Model loadAndParse(String filename) throws Exception {
         Path file = Path.of("src/test/resources/yaml/", filename);
 
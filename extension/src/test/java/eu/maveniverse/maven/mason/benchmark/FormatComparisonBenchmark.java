@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.benchmark;
+
+import eu.maveniverse.maven.mason.MasonParser;
+import eu.maveniverse.maven.mason.benchmark.ReactorGenerator.Format;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Source;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of reading semantically identical POMs with Maven's own StAX based XML reader
+ * and with {@link MasonParser} for each of its formats, both from files.
+ * <p>
+ * The {@code example} POM is the {@code example.*} test resource, whose formats are checked to read
+ * into the same model by {@code MasonParserTest}; the {@code generated} POM is a larger module written
+ * by {@link ReactorGenerator}, checked likewise by {@code ReactorGeneratorTest}.
+ * <p>
+ * Run from the {@code extension} directory after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> \
+ * eu.maveniverse.maven.mason.benchmark.FormatComparisonBenchmark}, which runs with the GC profiler
+ * and prints throughput and allocation per operation side by side, relative to XML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatComparisonBenchmark {
+
+    @Param({"xml", "json", "yaml", "toml", "hocon"})
+    public String format;
+
+    @Param({"example", "generated"})
+    public String pom;
+
+    private MasonParser parser;
+    private Path dir;
+    private Path path;
+    private Source source;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        parser = new MasonParser();
+        dir = Files.createTempDirectory("mason-benchmark");
+        path = dir.resolve("pom." + format);
+        if (pom.equals("example")) {
+            Files.copy(Path.of("src/test/resources/example." + format), path);
+        } else {
+            Files.writeString(path, generated(Format.valueOf(format.toUpperCase())));
+        }
+        source = Sources.fromPath(path);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(path);
+        Files.delete(dir);
+    }
+
+    /**
+     * A module with a few hundred dependencies and properties and deep plugin configurations.
+     */
+    static String generated(Format format) {
+        ReactorGenerator generator = new ReactorGenerator()
+                .modules(1)
+                .dependencies(200)
+                .properties(200)
+                .plugins(5)
+                .configurationDepth(8);
+        return ReactorGenerator.write(generator.modulePom(0), format);
+    }
+
+    @Benchmark
+    public Model parse() throws Exception {
+        if (format.equals("xml")) {
+            try (InputStream is = Files.newInputStream(path)) {
+                return new MavenStaxReader().read(is);
+            }
+        }
+        return parser.parse(source, Map.of());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(FormatComparisonBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        Map<String, double[]> scores = new TreeMap<>();
+        for (RunResult result : new Runner(options).run()) {
+            String key = result.getParams().getParam("pom") + " " + result.getParams().getParam("format");
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            scores.put(key, new double[] {
+                result.getPrimaryResult().getScore(), allocation != null ? allocation.getScore() : Double.NaN
+            });
+        }
+        System.out.printf("%n%-18s %14s %10s %14s %10s%n", "pom / format", "ops/s", "vs xml", "B/op", "vs xml");
+        for (Map.Entry<String, double[]> entry : scores.entrySet()) {
+            double[] xml = scores.get(entry.getKey().substring(0, entry.getKey().indexOf(' ')) + " xml");
+            double[] score = entry.getValue();
+            System.out.printf(
+                    "%-18s %14.1f %9.2fx %14.0f %9.2fx%n",
+                    entry.getKey(), score[0], score[0] / xml[0], score[1], score[1] / xml[1]);
+        }
+    }
+}
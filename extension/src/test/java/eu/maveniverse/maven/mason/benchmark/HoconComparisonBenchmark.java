@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigParseOptions;
+import com.typesafe.config.ConfigSyntax;
+import eu.maveniverse.maven.mason.MasonParser;
+import eu.maveniverse.maven.mason.benchmark.ReactorGenerator.Format;
+import eu.maveniverse.maven.mason.hocon.HoconFactory;
+import eu.maveniverse.maven.mason.hocon.HoconLexer;
+import eu.maveniverse.maven.mason.hocon.HoconToken;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Source;
+import org.apache.maven.api.services.Sources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares Mason's HOCON stack, from the {@link HoconLexer} alone to a complete model, with
+ * Typesafe Config parsing the same document into its own tree, with and without resolving it.
+ * <p>
+ * Run from the {@code extension} directory after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> \
+ * eu.maveniverse.maven.mason.benchmark.HoconComparisonBenchmark}, which runs with the GC profiler
+ * and prints throughput and allocation per operation side by side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HoconComparisonBenchmark {
+
+    @Param({"example", "generated"})
+    public String pom;
+
+    private String text;
+    private HoconFactory factory;
+    private MasonParser parser;
+    private Path dir;
+    private Path path;
+    private Source source;
+    private ConfigParseOptions options;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        text = pom.equals("example")
+                ? Files.readString(Path.of("src/test/resources/example.hocon"))
+                : FormatComparisonBenchmark.generated(Format.HOCON);
+        factory = HoconFactory.builder().build();
+        parser = new MasonParser();
+        dir = Files.createTempDirectory("mason-benchmark");
+        path = Files.writeString(dir.resolve("pom.hocon"), text);
+        source = Sources.fromPath(path);
+        options = ConfigParseOptions.defaults().setSyntax(ConfigSyntax.CONF);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(path);
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public List<HoconToken> masonLexer() throws IOException {
+        return new HoconLexer(text).tokenize();
+    }
+
+    @Benchmark
+    public void masonTokenStream(Blackhole blackhole) throws IOException {
+        try (JsonParser hocon = factory.createParser(new StringReader(text))) {
+            while (hocon.nextToken() != null) {
+                blackhole.consume(hocon.getText());
+            }
+        }
+    }
+
+    @Benchmark
+    public Model masonModel() {
+        return parser.parse(source, Map.of());
+    }
+
+    @Benchmark
+    public Config typesafeParse() {
+        return ConfigFactory.parseString(text, options);
+    }
+
+    @Benchmark
+    public Config typesafeParseAndResolve() {
+        return ConfigFactory.parseString(text, options).resolve();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(HoconComparisonBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        System.out.printf("%n%-36s %14s %14s%n", "benchmark / pom", "ops/s", "B/op");
+        for (RunResult result : results) {
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            System.out.printf(
+                    "%-36s %14.1f %14.0f%n",
+                    result.getParams().getBenchmark().replaceAll(".*\\.", "") + " / "
+                            + result.getParams().getParam("pom"),
+                    result.getPrimaryResult().getScore(),
+                    allocation != null ? allocation.getScore() : Double.NaN);
+        }
+    }
+}
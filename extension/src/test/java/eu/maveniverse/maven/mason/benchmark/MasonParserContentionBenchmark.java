@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.benchmark;
+
+import eu.maveniverse.maven.mason.MasonParser;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Source;
+import org.apache.maven.api.services.Sources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how the throughput of a single shared {@link MasonParser} scales with the number
+ * of threads calling {@code locate} and {@code parse} concurrently, for each format.
+ * <p>
+ * Run from the {@code extension} directory after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> \
+ * eu.maveniverse.maven.mason.benchmark.MasonParserContentionBenchmark}, which runs the benchmark
+ * from one thread up to the number of available processors and prints the scaling factor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MasonParserContentionBenchmark {
+
+    @Param({"example.yaml", "example.json", "example.toml", "example.hocon"})
+    public String file;
+
+    private MasonParser parser;
+    private Source source;
+    private Path dir;
+
+    @Setup
+    public void setup() {
+        parser = new MasonParser();
+        source = Sources.fromPath(Path.of("src/test/resources", file));
+        dir = Path.of("src/test/resources/yaml");
+    }
+
+    @Benchmark
+    public Model parse() {
+        return parser.parse(source, Map.of());
+    }
+
+    @Benchmark
+    public Optional<Source> locate() {
+        return parser.locate(dir);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+
+        Map<String, Double> baseline = new HashMap<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(MasonParserContentionBenchmark.class.getSimpleName() + ".parse")
+                    .threads(threads)
+                    .build();
+            for (RunResult result : new Runner(options).run()) {
+                String file = result.getParams().getParam("file");
+                double score = result.getPrimaryResult().getScore();
+                baseline.putIfAbsent(file, score);
+                System.out.printf(
+                        "%-14s threads=%-3d %12.1f ops/s  scaling=%.2fx%n",
+                        file, threads, score, score / baseline.get(file));
+            }
+        }
+    }
+}
@@ -0,0 +1,545 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates synthetic but realistic reactors, identical in every supported format: a root POM listing
+ * N modules, each module declaring M dependencies (on earlier modules and on external libraries whose
+ * versions are properties), plugins with executions and deeply nested configurations, and as many
+ * properties as wanted. Very large values give multi-megabyte single POMs.
+ * <p>
+ * POMs are first built as trees of maps, lists, strings and {@link Coordinates}, then written in the
+ * requested format. Dependencies use the {@code groupId:artifactId:version@scope} shorthand in Mason
+ * formats and the expanded form in XML, so that all formats read into equal models. Within plugin
+ * configurations, scalar values always come before nested ones, so that TOML, which needs tables last,
+ * keeps the same element order.
+ */
+public final class ReactorGenerator {
+
+    public static final String GROUP_ID = "org.example.generated";
+    public static final String VERSION = "1.0.0-SNAPSHOT";
+
+    private static final String[] SCOPES = {null, "test", "provided", "runtime"};
+
+    /**
+     * The formats a reactor can be written in.
+     */
+    public enum Format {
+        XML("xml"),
+        JSON("json"),
+        YAML("yaml"),
+        TOML("toml"),
+        HOCON("hocon");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public String fileName() {
+            return "pom." + extension;
+        }
+    }
+
+    /**
+     * A dependency, written as a shorthand string in Mason formats.
+     */
+    public record Coordinates(String groupId, String artifactId, String version, String scope) {
+        String shorthand() {
+            return groupId + ":" + artifactId + (version != null ? ":" + version : "")
+                    + (scope != null ? "@" + scope : "");
+        }
+    }
+
+    private int modules = 10;
+    private int dependencies = 20;
+    private int properties = 20;
+    private int plugins = 3;
+    private int configurationDepth = 4;
+    private int configurationWidth = 3;
+
+    /**
+     * Number of modules of the reactor.
+     */
+    public ReactorGenerator modules(int modules) {
+        this.modules = modules;
+        return this;
+    }
+
+    /**
+     * Number of dependencies of each module.
+     */
+    public ReactorGenerator dependencies(int dependencies) {
+        this.dependencies = dependencies;
+        return this;
+    }
+
+    /**
+     * Number of properties of each POM, besides the library versions of the root POM.
+     */
+    public ReactorGenerator properties(int properties) {
+        this.properties = properties;
+        return this;
+    }
+
+    /**
+     * Number of plugins of each module.
+     */
+    public ReactorGenerator plugins(int plugins) {
+        this.plugins = plugins;
+        return this;
+    }
+
+    /**
+     * Nesting depth of plugin configurations.
+     */
+    public ReactorGenerator configurationDepth(int configurationDepth) {
+        this.configurationDepth = configurationDepth;
+        return this;
+    }
+
+    /**
+     * Number of values and of list items at each level of plugin configurations.
+     */
+    public ReactorGenerator configurationWidth(int configurationWidth) {
+        this.configurationWidth = configurationWidth;
+        return this;
+    }
+
+    /**
+     * Writes the reactor in {@code dir} and returns the paths of all its POMs, the root one first.
+     */
+    public List<Path> generate(Path dir, Format format) throws IOException {
+        List<Path> poms = new ArrayList<>();
+        Files.createDirectories(dir);
+        Path root = dir.resolve(format.fileName());
+        Files.writeString(root, write(rootPom(), format));
+        poms.add(root);
+        for (int i = 0; i < modules; i++) {
+            Path module = dir.resolve(moduleName(i)).resolve(format.fileName());
+            Files.createDirectories(module.getParent());
+            Files.writeString(module, write(modulePom(i), format));
+            poms.add(module);
+        }
+        return poms;
+    }
+
+    /**
+     * Returns the root POM, aggregating the modules and managing the external library versions.
+     */
+    public Map<String, Object> rootPom() {
+        Map<String, Object> pom = new LinkedHashMap<>();
+        pom.put("modelVersion", "4.0.0");
+        pom.put("groupId", GROUP_ID);
+        pom.put("artifactId", "reactor");
+        pom.put("version", VERSION);
+        pom.put("packaging", "pom");
+        pom.put("name", "Generated reactor with " + modules + " modules");
+        Map<String, Object> props = new LinkedHashMap<>();
+        props.put("project.build.sourceEncoding", "UTF-8");
+        for (int i = 0; i < libraries(); i++) {
+            props.put("lib" + i + ".version", (1 + i % 7) + "." + (i % 13) + "." + (i % 5));
+        }
+        addProperties(props, "root");
+        pom.put("properties", props);
+        List<Object> moduleNames = new ArrayList<>();
+        for (int i = 0; i < modules; i++) {
+            moduleNames.add(moduleName(i));
+        }
+        pom.put("modules", moduleNames);
+        List<Object> managed = new ArrayList<>();
+        for (int i = 0; i < libraries(); i++) {
+            managed.add(library(i, "${lib" + i + ".version}", null));
+        }
+        pom.put("dependencyManagement", map("dependencies", managed));
+        return pom;
+    }
+
+    /**
+     * Returns the POM of the module with the given index.
+     */
+    public Map<String, Object> modulePom(int index) {
+        Map<String, Object> pom = new LinkedHashMap<>();
+        pom.put("modelVersion", "4.0.0");
+        Map<String, Object> parent = new LinkedHashMap<>();
+        parent.put("groupId", GROUP_ID);
+        parent.put("artifactId", "reactor");
+        parent.put("version", VERSION);
+        pom.put("parent", parent);
+        pom.put("artifactId", moduleName(index));
+        pom.put("packaging", "jar");
+        pom.put("description", "Module " + index + " of the generated reactor, child of ${project.parent.artifactId}");
+        Map<String, Object> props = new LinkedHashMap<>();
+        addProperties(props, moduleName(index));
+        pom.put("properties", props);
+        List<Object> deps = new ArrayList<>();
+        for (int i = 0; i < dependencies; i++) {
+            String scope = SCOPES[(index + i) % SCOPES.length];
+            if (i < index && i % 2 == 0) {
+                // on an earlier module of the reactor
+                deps.add(new Coordinates(GROUP_ID, moduleName(index - 1 - i), "${project.version}", scope));
+            } else {
+                deps.add(library((index * 31 + i) % libraries(), null, scope));
+            }
+        }
+        pom.put("dependencies", deps);
+        List<Object> pluginList = new ArrayList<>();
+        for (int i = 0; i < plugins; i++) {
+            pluginList.add(plugin(index, i));
+        }
+        pom.put("build", map("plugins", pluginList));
+        return pom;
+    }
+
+    private int libraries() {
+        return Math.max(1, dependencies);
+    }
+
+    private static String moduleName(int index) {
+        return "module-" + index;
+    }
+
+    private static Coordinates library(int index, String version, String scope) {
+        return new Coordinates("org.example.lib" + (index % 50), "lib-" + index, version, scope);
+    }
+
+    private void addProperties(Map<String, Object> props, String prefix) {
+        for (int i = 0; i < properties; i++) {
+            String key = prefix + ".prop" + i;
+            // every other property refers to the previous one, as real POMs often do
+            props.put(key, i % 2 == 1 ? "${" + prefix + ".prop" + (i - 1) + "}/value-" + i : "value-" + i);
+        }
+    }
+
+    private Map<String, Object> plugin(int module, int index) {
+        Map<String, Object> plugin = new LinkedHashMap<>();
+        plugin.put("groupId", "org.example.plugins");
+        plugin.put("artifactId", "plugin-" + index + "-maven-plugin");
+        plugin.put("version", "1." + index + ".0");
+        Map<String, Object> execution = new LinkedHashMap<>();
+        execution.put("id", "execution-" + index);
+        execution.put("phase", "package");
+        execution.put("goals", List.of("goal-a", "goal-b"));
+        execution.put("configuration", configuration(module, 1));
+        plugin.put("executions", List.of(execution));
+        plugin.put("configuration", configuration(module, 0));
+        return plugin;
+    }
+
+    private Map<String, Object> configuration(int module, int seed) {
+        return level(module + seed, 0);
+    }
+
+    private Map<String, Object> level(int seed, int depth) {
+        Map<String, Object> level = new LinkedHashMap<>();
+        for (int i = 0; i < configurationWidth; i++) {
+            level.put("value" + i, "v" + seed + "-" + depth + "-" + i);
+        }
+        if (depth + 1 < configurationDepth) {
+            List<Object> items = new ArrayList<>();
+            for (int i = 0; i < configurationWidth; i++) {
+                items.add("item-" + depth + "-" + i);
+            }
+            level.put("items", items);
+            level.put("nested", level(seed, depth + 1));
+        }
+        return level;
+    }
+
+    private static Map<String, Object> map(String key, Object value) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(key, value);
+        return map;
+    }
+
+    /**
+     * Writes a POM tree in the given format.
+     */
+    public static String write(Map<String, Object> pom, Format format) {
+        StringBuilder sb = new StringBuilder(4096);
+        switch (format) {
+            case XML -> {
+                sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+                sb.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+                for (Map.Entry<String, Object> entry : pom.entrySet()) {
+                    writeXml(sb, entry.getKey(), entry.getValue(), 1);
+                }
+                sb.append("</project>\n");
+            }
+            case JSON -> {
+                writeJson(sb, pom, 0);
+                sb.append('\n');
+            }
+            case YAML -> writeYaml(sb, pom, 0);
+            case TOML -> writeToml(sb, pom, "");
+            case HOCON -> writeHocon(sb, pom, 0);
+        }
+        return sb.toString();
+    }
+
+    private static void writeXml(StringBuilder sb, String name, Object value, int indent) {
+        indent(sb, indent);
+        sb.append('<').append(name).append('>');
+        if (value instanceof Map<?, ?> map) {
+            sb.append('\n');
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeXml(sb, entry.getKey().toString(), entry.getValue(), indent + 1);
+            }
+            indent(sb, indent);
+        } else if (value instanceof List<?> list) {
+            sb.append('\n');
+            String item = singular(name);
+            for (Object element : list) {
+                writeXml(sb, item, element, indent + 1);
+            }
+            indent(sb, indent);
+        } else if (value instanceof Coordinates coordinates) {
+            sb.append('\n');
+            writeXml(sb, "groupId", coordinates.groupId(), indent + 1);
+            writeXml(sb, "artifactId", coordinates.artifactId(), indent + 1);
+            if (coordinates.version() != null) {
+                writeXml(sb, "version", coordinates.version(), indent + 1);
+            }
+            if (coordinates.scope() != null) {
+                writeXml(sb, "scope", coordinates.scope(), indent + 1);
+            }
+            indent(sb, indent);
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '<' -> sb.append("&lt;");
+                    case '>' -> sb.append("&gt;");
+                    case '&' -> sb.append("&amp;");
+                    default -> sb.append(c);
+                }
+            }
+        }
+        sb.append("</").append(name).append(">\n");
+    }
+
+    private static void writeJson(StringBuilder sb, Object value, int indent) {
+        if (value instanceof Map<?, ?> map) {
+            if (map.isEmpty()) {
+                sb.append("{}");
+                return;
+            }
+            sb.append("{\n");
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    sb.append(",\n");
+                }
+                first = false;
+                indent(sb, indent + 1);
+                quote(sb, entry.getKey().toString()).append(": ");
+                writeJson(sb, entry.getValue(), indent + 1);
+            }
+            sb.append('\n');
+            indent(sb, indent);
+            sb.append('}');
+        } else if (value instanceof List<?> list) {
+            if (list.isEmpty()) {
+                sb.append("[]");
+                return;
+            }
+            sb.append("[\n");
+            boolean first = true;
+            for (Object element : list) {
+                if (!first) {
+                    sb.append(",\n");
+                }
+                first = false;
+                indent(sb, indent + 1);
+                writeJson(sb, element, indent + 1);
+            }
+            sb.append('\n');
+            indent(sb, indent);
+            sb.append(']');
+        } else {
+            quote(sb, scalar(value));
+        }
+    }
+
+    private static void writeYaml(StringBuilder sb, Map<?, ?> map, int indent) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            indent(sb, indent);
+            key(sb, entry.getKey().toString(), true).append(':');
+            writeYamlValue(sb, entry.getValue(), indent);
+        }
+    }
+
+    private static void writeYamlValue(StringBuilder sb, Object value, int indent) {
+        if (value instanceof Map<?, ?> map) {
+            if (map.isEmpty()) {
+                sb.append(" {}\n");
+            } else {
+                sb.append('\n');
+                writeYaml(sb, map, indent + 1);
+            }
+        } else if (value instanceof List<?> list) {
+            if (list.isEmpty()) {
+                sb.append(" []\n");
+                return;
+            }
+            sb.append('\n');
+            for (Object element : list) {
+                indent(sb, indent);
+                sb.append("- ");
+                if (element instanceof Map<?, ?> map && !map.isEmpty()) {
+                    // the first entry goes on the dash line, the others are aligned with it
+                    int start = sb.length();
+                    writeYaml(sb, map, indent + 1);
+                    sb.delete(start, start + 2 * (indent + 1));
+                } else if (element instanceof Map<?, ?> || element instanceof List<?>) {
+                    throw new IllegalArgumentException("Unsupported list item: " + element);
+                } else {
+                    quote(sb, scalar(element)).append('\n');
+                }
+            }
+        } else {
+            sb.append(' ');
+            quote(sb, scalar(value)).append('\n');
+        }
+    }
+
+    private static void writeToml(StringBuilder sb, Map<?, ?> map, String path) {
+        // TOML needs the plain key/value pairs of a table before its sub-tables
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            if (!(value instanceof Map<?, ?>) && !isTableArray(value)) {
+                key(sb, entry.getKey().toString(), false).append(" = ");
+                writeTomlInline(sb, value);
+                sb.append('\n');
+            }
+        }
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            StringBuilder key = new StringBuilder(path);
+            if (!path.isEmpty()) {
+                key.append('.');
+            }
+            key(key, entry.getKey().toString(), false);
+            if (value instanceof Map<?, ?> table) {
+                sb.append("\n[").append(key).append("]\n");
+                writeToml(sb, table, key.toString());
+            } else if (isTableArray(value)) {
+                for (Object element : (List<?>) value) {
+                    sb.append("\n[[").append(key).append("]]\n");
+                    writeToml(sb, (Map<?, ?>) element, key.toString());
+                }
+            }
+        }
+    }
+
+    private static boolean isTableArray(Object value) {
+        return value instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof Map<?, ?>;
+    }
+
+    private static void writeTomlInline(StringBuilder sb, Object value) {
+        if (value instanceof List<?> list) {
+            sb.append('[');
+            for (int i = 0; i < list.size(); i++) {
+                sb.append(i > 0 ? ", " : "");
+                writeTomlInline(sb, list.get(i));
+            }
+            sb.append(']');
+        } else {
+            quote(sb, scalar(value));
+        }
+    }
+
+    private static void writeHocon(StringBuilder sb, Map<?, ?> map, int indent) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            indent(sb, indent);
+            key(sb, entry.getKey().toString(), false).append(": ");
+            writeHoconValue(sb, entry.getValue(), indent);
+            sb.append('\n');
+        }
+    }
+
+    private static void writeHoconValue(StringBuilder sb, Object value, int indent) {
+        if (value instanceof Map<?, ?> object) {
+            sb.append("{\n");
+            writeHocon(sb, object, indent + 1);
+            indent(sb, indent);
+            sb.append('}');
+        } else if (value instanceof List<?> list) {
+            sb.append("[\n");
+            for (int i = 0; i < list.size(); i++) {
+                indent(sb, indent + 1);
+                writeHoconValue(sb, list.get(i), indent + 1);
+                sb.append(i + 1 < list.size() ? ",\n" : "\n");
+            }
+            indent(sb, indent);
+            sb.append(']');
+        } else {
+            quote(sb, scalar(value));
+        }
+    }
+
+    private static String scalar(Object value) {
+        return value instanceof Coordinates coordinates ? coordinates.shorthand() : value.toString();
+    }
+
+    /**
+     * Writes a key bare when the format allows it, quoted otherwise: dots are path separators
+     * in TOML and HOCON keys.
+     */
+    private static StringBuilder key(StringBuilder sb, String key, boolean dots) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && (c != '.' || !dots)) {
+                return quote(sb, key);
+            }
+        }
+        return sb.append(key);
+    }
+
+    private static StringBuilder quote(StringBuilder sb, String text) {
+        sb.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('"');
+    }
+
+    private static void indent(StringBuilder sb, int indent) {
+        sb.append("  ".repeat(indent));
+    }
+
+    private static String singular(String plural) {
+        if (plural.endsWith("ies")) {
+            return plural.substring(0, plural.length() - 3) + "y";
+        } else if (plural.endsWith("s")) {
+            return plural.substring(0, plural.length() - 1);
+        }
+        return plural;
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.mason.MasonParser;
+import eu.maveniverse.maven.mason.benchmark.ReactorGenerator.Format;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxReader;
+import org.apache.maven.model.v4.MavenStaxWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ReactorGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @EnumSource(
+            value = Format.class,
+            names = {"JSON", "YAML", "TOML", "HOCON"})
+    void testGeneratedReactorsReadLikeXml(Format format) throws Exception {
+        ReactorGenerator generator = new ReactorGenerator()
+                .modules(4)
+                .dependencies(6)
+                .properties(6)
+                .plugins(2)
+                .configurationDepth(5)
+                .configurationWidth(2);
+        List<Path> xml = generator.generate(dir.resolve("xml"), Format.XML);
+        List<Path> mason = generator.generate(dir.resolve(format.extension()), format);
+
+        assertEquals(5, mason.size());
+        MasonParser parser = new MasonParser();
+        for (int i = 0; i < xml.size(); i++) {
+            Model expected;
+            try (InputStream is = Files.newInputStream(xml.get(i))) {
+                expected = new MavenStaxReader().read(is);
+            }
+            Model actual = parser.parse(Sources.fromPath(mason.get(i)), Map.of());
+            assertEquals(write(expected), write(actual), mason.get(i).toString());
+        }
+    }
+
+    @Test
+    void testLargeSinglePom() throws Exception {
+        ReactorGenerator generator = new ReactorGenerator().dependencies(40_000).properties(5_000);
+        String json = ReactorGenerator.write(generator.modulePom(0), Format.JSON);
+        assertTrue(json.length() > 1_000_000, "expected a multi-megabyte POM, got " + json.length() + " chars");
+    }
+
+    private static String write(Model model) throws Exception {
+        StringWriter sw = new StringWriter(4096);
+        MavenStaxWriter writer = new MavenStaxWriter();
+        writer.setAddLocationInformation(false);
+        writer.write(sw, model);
+        return sw.toString();
+    }
+}
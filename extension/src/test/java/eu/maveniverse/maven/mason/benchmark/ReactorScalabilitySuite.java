@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.benchmark;
+
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import eu.maveniverse.maven.mason.MasonParser;
+import eu.maveniverse.maven.mason.benchmark.ReactorGenerator.Format;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import org.apache.maven.api.services.Sources;
+import org.apache.maven.model.v4.MavenStaxReader;
+
+/**
+ * Parses generated reactors of growing size in every format and reports, for each size, the parse
+ * time, the allocated bytes and the retained heap, normalized per KB of input. A series whose
+ * normalized time grows more than {@link #SUPERLINEAR_FACTOR} times between its smallest and its
+ * largest size is flagged, as it hints at superlinear behaviour in the generated reader,
+ * {@code buildXmlNode} or the HOCON lexer.
+ * <p>
+ * Run from the {@code extension} directory after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> \
+ * eu.maveniverse.maven.mason.benchmark.ReactorScalabilitySuite [formats...]}; it exits with status 1
+ * if any series is flagged.
+ */
+public class ReactorScalabilitySuite {
+
+    static final double SUPERLINEAR_FACTOR = 3.0;
+
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+
+    /**
+     * The nesting depth allowed to the parser, above the default: the deepest configuration generated
+     * sits a few levels below the project root.
+     */
+    private static final int MAX_DEPTH = 1024;
+
+    private record Series(String name, int[] sizes, IntFunction<ReactorGenerator> generator) {}
+
+    private record Measure(long bytes, long nanos, long allocated, long retained) {
+        double nanosPerKb() {
+            return nanos * 1024.0 / bytes;
+        }
+    }
+
+    private static final List<Series> SERIES = List.of(
+            new Series("modules", new int[] {10, 100, 1000}, n -> new ReactorGenerator()
+                    .modules(n)),
+            new Series("dependencies", new int[] {100, 1_000, 10_000, 50_000}, m -> new ReactorGenerator()
+                    .modules(1)
+                    .dependencies(m)),
+            new Series("configurationDepth", new int[] {8, 64, 256, 512}, d -> new ReactorGenerator()
+                    .modules(1)
+                    .configurationDepth(d)
+                    .configurationWidth(2)),
+            new Series("properties", new int[] {100, 1_000, 10_000, 100_000}, p -> new ReactorGenerator()
+                    .modules(1)
+                    .properties(p)));
+
+    private final MasonParser parser = new MasonParser(
+            StreamReadConstraints.builder().maxNestingDepth(MAX_DEPTH).build());
+
+    public static void main(String[] args) throws Exception {
+        List<Format> formats = new ArrayList<>();
+        for (String arg : args) {
+            formats.add(Format.valueOf(arg.toUpperCase()));
+        }
+        if (formats.isEmpty()) {
+            formats.addAll(List.of(Format.values()));
+        }
+        boolean flagged = false;
+        Path dir = Files.createTempDirectory("mason-scalability");
+        try {
+            ReactorScalabilitySuite suite = new ReactorScalabilitySuite();
+            for (Series series : SERIES) {
+                for (Format format : formats) {
+                    flagged |= suite.run(series, format, dir);
+                }
+            }
+        } finally {
+            delete(dir);
+        }
+        System.exit(flagged ? 1 : 0);
+    }
+
+    private boolean run(Series series, Format format, Path dir) throws Exception {
+        System.out.printf("%n%s / %s%n", series.name(), format);
+        System.out.printf(
+                "%10s %12s %12s %12s %14s %14s%n", "size", "input KB", "time ms", "ns/KB", "alloc/input", "retained KB");
+        List<Measure> measures = new ArrayList<>();
+        for (int size : series.sizes()) {
+            Path reactor = dir.resolve(series.name() + "-" + size + "-" + format.extension());
+            List<Path> poms = series.generator().apply(size).generate(reactor, format);
+            Measure measure = measure(poms, format);
+            measures.add(measure);
+            System.out.printf(
+                    "%10d %12d %12.2f %12.0f %14.1f %14d%n",
+                    size,
+                    measure.bytes() / 1024,
+                    measure.nanos() / 1e6,
+                    measure.nanosPerKb(),
+                    (double) measure.allocated() / measure.bytes(),
+                    measure.retained() / 1024);
+            delete(reactor);
+        }
+        double growth = measures.get(measures.size() - 1).nanosPerKb() / measures.get(0).nanosPerKb();
+        boolean superlinear = growth > SUPERLINEAR_FACTOR;
+        System.out.printf("time per KB grew %.2fx%s%n", growth, superlinear ? "  <-- SUPERLINEAR?" : "");
+        return superlinear;
+    }
+
+    private Measure measure(List<Path> poms, Format format) throws Exception {
+        long bytes = 0;
+        for (Path pom : poms) {
+            bytes += Files.size(pom);
+        }
+        for (int i = 0; i < WARMUP; i++) {
+            parseAll(poms, format);
+        }
+        long best = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            parseAll(poms, format);
+            best = Math.min(best, System.nanoTime() - start);
+            allocated = Math.min(allocated, allocatedBytes() - allocatedBefore);
+        }
+        long heapBefore = usedHeap();
+        List<Object> models = parseAll(poms, format);
+        long retained = usedHeap() - heapBefore;
+        models.clear();
+        return new Measure(bytes, best, allocated, Math.max(0, retained));
+    }
+
+    private List<Object> parseAll(List<Path> poms, Format format) throws Exception {
+        List<Object> models = new ArrayList<>(poms.size());
+        for (Path pom : poms) {
+            if (format == Format.XML) {
+                try (InputStream is = Files.newInputStream(pom)) {
+                    models.add(new MavenStaxReader().read(is));
+                }
+            } else {
+                models.add(parser.parse(Sources.fromPath(pom), Map.of()));
+            }
+        }
+        return models;
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
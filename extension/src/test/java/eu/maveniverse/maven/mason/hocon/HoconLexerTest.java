@@ -155,6 +155,23 @@ class HoconLexerTest {
         });
     }
 
+    @Test
+    void testUnclosedBlockComment() throws IOException {
+        String input = "key = value\n/* unclosed";
+        HoconParseException e = assertThrows(HoconParseException.class, () -> {
+            new HoconLexer(input).tokenize();
+        });
+        assertTrue(e.getMessage().contains("line 2"));
+    }
+
+    @Test
+    void testMaxStringLength() throws IOException {
+        HoconLexer lexer = new HoconLexer("key = \"" + "x".repeat(100) + "\"");
+        lexer.setMaxStringLength(64);
+        HoconParseException e = assertThrows(HoconParseException.class, lexer::tokenize);
+        assertTrue(e.getMessage().contains("64"));
+    }
+
     @ParameterizedTest
     @MethodSource("provideEscapeSequences")
     void testEscapeSequences(String input, String expected) throws IOException {
@@ -13,6 +13,7 @@ package eu.maveniverse.maven.mason.hocon;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.ErrorReportConfiguration;
 import com.fasterxml.jackson.core.JsonToken;
@@ -190,6 +191,124 @@ class HoconParserTest {
         }
     }
 
+    @Test
+    void testDottedKeys() throws IOException {
+        String input = """
+            build.plugins = []
+            build.directory = target
+            version = 1
+            """;
+
+        try (HoconParser parser = createParser(input)) {
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("build", parser.getCurrentName());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("plugins", parser.getCurrentName());
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("directory", parser.getCurrentName());
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("target", parser.getText());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("version", parser.getCurrentName());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(1, parser.getIntValue());
+
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        }
+    }
+
+    @Test
+    void testRepeatedObjectsAreMerged() throws IOException {
+        String input = """
+            build {
+                directory = target
+                nested { a = 1 }
+            }
+            name = test
+            build {
+                nested { b = 2 }
+                finalName = app
+            }
+            """;
+
+        try (HoconParser parser = createParser(input)) {
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("build", parser.getCurrentName());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("directory", parser.getCurrentName());
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("nested", parser.getCurrentName());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("a", parser.getCurrentName());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("b", parser.getCurrentName());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(2, parser.getIntValue());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("finalName", parser.getCurrentName());
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("app", parser.getText());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("name", parser.getCurrentName());
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("test", parser.getText());
+
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        }
+    }
+
+    @Test
+    void testMergingTooManyEventsIsRejected() {
+        StringBuilder input = new StringBuilder("build { directory = target }\n");
+        for (int i = 0; i < ObjectMerger.DEFAULT_MAX_BUFFERED; i++) {
+            input.append("key").append(i).append(" = value\n");
+        }
+        input.append("build { finalName = app }\n");
+
+        HoconParseException e = assertThrows(HoconParseException.class, () -> {
+            try (HoconParser parser = createParser(input.toString())) {
+                while (parser.nextToken() != null) {}
+            }
+        });
+        assertTrue(e.getMessage().contains("key 'build'"), e.getMessage());
+        assertTrue(
+                e.getMessage().contains("more than " + ObjectMerger.DEFAULT_MAX_BUFFERED + " events"), e.getMessage());
+    }
+
+    @Test
+    void testObjectsDefinedOnceAreEmittedPastTheBound() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < ObjectMerger.DEFAULT_MAX_BUFFERED; i++) {
+            input.append("object").append(i).append(" { key = value }\n");
+        }
+
+        int objects = 0;
+        try (HoconParser parser = createParser(input.toString())) {
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                if (token == JsonToken.START_OBJECT) {
+                    objects++;
+                }
+            }
+        }
+        assertEquals(ObjectMerger.DEFAULT_MAX_BUFFERED + 1, objects);
+    }
+
     @Test
     void testUnclosedStructures() {
         assertThrows(HoconParseException.class, () -> {
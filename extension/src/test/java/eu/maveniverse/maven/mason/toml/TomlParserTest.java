@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package eu.maveniverse.maven.mason.toml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import eu.maveniverse.maven.mason.MasonParser;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.services.Source;
+import org.apache.maven.api.services.Sources;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TomlParserTest {
+
+    private static final String TABLES_DEFINED_AGAIN = """
+            modelVersion = "4.0.0"
+            [build]
+            directory = "out"
+            [properties]
+            a = "1"
+            [build.pluginManagement]
+            plugins = ["g:p:1"]
+            """;
+
+    private JsonParser createParser(String input) throws IOException {
+        return TomlFactory.builder().build().createParser(new StringReader(input));
+    }
+
+    private void assertToken(JsonParser parser, JsonToken token, String text, int line, int column)
+            throws IOException {
+        assertEquals(token, parser.nextToken());
+        assertEquals(text, parser.getText());
+        assertEquals(line, parser.currentLocation().getLineNr(), "line of " + text);
+        assertEquals(column, parser.currentLocation().getColumnNr(), "column of " + text);
+    }
+
+    @Test
+    void testKeysValuesAndLocations() throws IOException {
+        String input = """
+            # comment
+            name = "test"
+            a.b = 0x1F
+              a.c = [1.5, 'x', true]
+            inline = { x.y = "z" }
+            """;
+        try (JsonParser parser = createParser(input)) {
+            assertToken(parser, JsonToken.START_OBJECT, "{", 1, 1);
+            assertToken(parser, JsonToken.FIELD_NAME, "name", 2, 1);
+            assertToken(parser, JsonToken.VALUE_STRING, "test", 2, 8);
+            assertToken(parser, JsonToken.FIELD_NAME, "a", 3, 1);
+            assertToken(parser, JsonToken.START_OBJECT, "{", 3, 1);
+            assertToken(parser, JsonToken.FIELD_NAME, "b", 3, 3);
+            assertToken(parser, JsonToken.VALUE_NUMBER_INT, "31", 3, 7);
+            assertEquals(31L, parser.getLongValue());
+            assertToken(parser, JsonToken.FIELD_NAME, "c", 4, 5);
+            assertToken(parser, JsonToken.START_ARRAY, "[", 4, 9);
+            assertToken(parser, JsonToken.VALUE_NUMBER_FLOAT, "1.5", 4, 10);
+            assertToken(parser, JsonToken.VALUE_STRING, "x", 4, 15);
+            assertToken(parser, JsonToken.VALUE_TRUE, "true", 4, 20);
+            assertToken(parser, JsonToken.END_ARRAY, "]", 4, 24);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 5, 1);
+            assertToken(parser, JsonToken.FIELD_NAME, "inline", 5, 1);
+            assertToken(parser, JsonToken.START_OBJECT, "{", 5, 10);
+            assertToken(parser, JsonToken.FIELD_NAME, "x", 5, 12);
+            assertToken(parser, JsonToken.START_OBJECT, "{", 5, 12);
+            assertToken(parser, JsonToken.FIELD_NAME, "y", 5, 14);
+            assertToken(parser, JsonToken.VALUE_STRING, "z", 5, 18);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 5, 22);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 5, 22);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 6, 1);
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    void testArraysOfTables() throws IOException {
+        String input = """
+            [build]
+            [[build.plugins]]
+            id = "a"
+            [build.plugins.configuration]
+            x = 1
+            [[build.plugins]]
+            id = "b"
+            """;
+        try (JsonParser parser = createParser(input)) {
+            assertToken(parser, JsonToken.START_OBJECT, "{", 1, 1);
+            assertToken(parser, JsonToken.FIELD_NAME, "build", 1, 2);
+            assertToken(parser, JsonToken.START_OBJECT, "{", 1, 2);
+            assertToken(parser, JsonToken.FIELD_NAME, "plugins", 2, 9);
+            assertEquals("plugins", parser.currentName());
+            assertToken(parser, JsonToken.START_ARRAY, "[", 2, 9);
+            assertToken(parser, JsonToken.START_OBJECT, "{", 2, 1);
+            assertToken(parser, JsonToken.FIELD_NAME, "id", 3, 1);
+            assertToken(parser, JsonToken.VALUE_STRING, "a", 3, 6);
+            assertToken(parser, JsonToken.FIELD_NAME, "configuration", 4, 16);
+            assertToken(parser, JsonToken.START_OBJECT, "{", 4, 16);
+            assertToken(parser, JsonToken.FIELD_NAME, "x", 5, 1);
+            assertToken(parser, JsonToken.VALUE_NUMBER_INT, "1", 5, 5);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 6, 1);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 6, 1);
+            assertToken(parser, JsonToken.START_OBJECT, "{", 6, 1);
+            assertToken(parser, JsonToken.FIELD_NAME, "id", 7, 1);
+            assertToken(parser, JsonToken.VALUE_STRING, "b", 7, 6);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 8, 1);
+            assertToken(parser, JsonToken.END_ARRAY, "]", 8, 1);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 8, 1);
+            assertToken(parser, JsonToken.END_OBJECT, "}", 8, 1);
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    void testStrings() throws IOException {
+        String input = "a = \"\"\"\nx\\ty \\\n   z\"\"\"\"\nb = '''\nc:\\d'''\nc = \"\\u00e9\\U0001F600\"\n";
+        try (JsonParser parser = createParser(input)) {
+            parser.nextToken();
+            parser.nextToken();
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("x\ty z\"", parser.getText());
+            parser.nextToken();
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("c:\\d", parser.getText());
+            parser.nextToken();
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("é\uD83D\uDE00", parser.getText());
+        }
+    }
+
+    @Test
+    void testErrorsHaveLocations() throws IOException {
+        try (JsonParser parser = createParser("a = 1\nb = 2 c = 3\n")) {
+            JsonParseException e = assertThrows(JsonParseException.class, () -> {
+                while (parser.nextToken() != null) {}
+            });
+            assertEquals(2, e.getLocation().getLineNr());
+            assertEquals(7, e.getLocation().getColumnNr());
+        }
+    }
+
+    @Test
+    void testTableDefinedAgain() throws IOException {
+        try (JsonParser parser = createParser("[a]\nx = 1\n[b]\n[a.c]\n")) {
+            NonContiguousTableException e = assertThrows(NonContiguousTableException.class, () -> {
+                while (parser.nextToken() != null) {}
+            });
+            assertEquals(4, e.getLocation().getLineNr());
+        }
+    }
+
+    @Test
+    void testTableDefinedTwice() throws IOException {
+        try (JsonParser parser = createParser("[a]\nx = 1\n[a.b]\ny = 2\n[a]\nz = 3\n")) {
+            JsonParseException e = assertThrows(JsonParseException.class, () -> {
+                while (parser.nextToken() != null) {}
+            });
+            assertFalse(e instanceof NonContiguousTableException);
+            assertTrue(e.getMessage().contains("Table 'a' is defined twice"), e.getMessage());
+            assertEquals(5, e.getLocation().getLineNr());
+        }
+    }
+
+    @Test
+    void testModelLocations() {
+        Model model = new MasonParser()
+                .parse(Sources.fromPath(Path.of("src/test/resources/example.toml")), Map.of());
+        assertEquals(11, model.getLocation("modelVersion").getLineNumber());
+        Plugin plugin = model.getBuild().getPlugins().get(1);
+        assertEquals("modello-maven-plugin", plugin.getArtifactId());
+        assertEquals(55, plugin.getLocation("").getLineNumber());
+    }
+
+    @Test
+    void testMasonParserReadsTablesDefinedAgain(@TempDir Path dir) throws IOException {
+        Path pom = Files.writeString(dir.resolve("pom.toml"), """
+                modelVersion = "4.0.0"
+                [build]
+                directory = "out"
+                [properties]
+                a = "1"
+                [build.pluginManagement]
+                plugins = ["g:p:1"]
+                """);
+        Model model = new MasonParser().parse(Sources.fromPath(pom), Map.of());
+        assertEquals("out", model.getBuild().getDirectory());
+        assertEquals("p", model.getBuild().getPluginManagement().getPlugins().get(0).getArtifactId());
+        assertEquals("1", model.getProperties().get("a"));
+
+        Model cached = new MasonParser().parse(Sources.fromPath(pom), Map.of(MasonParser.CACHE_MODELS, true));
+        assertEquals(model.getBuild().getDirectory(), cached.getBuild().getDirectory());
+    }
+
+    @Test
+    void testMasonParserReadsTablesDefinedAgainFromMemory() {
+        Model model = new MasonParser()
+                .parse(TABLES_DEFINED_AGAIN.getBytes(StandardCharsets.UTF_8), Map.of(MasonParser.FORMAT, "toml"));
+        assertEquals("out", model.getBuild().getDirectory());
+        assertEquals("p", model.getBuild().getPluginManagement().getPlugins().get(0).getArtifactId());
+    }
+
+    @Test
+    void testMasonParserOpensStreamsWithoutMarkAgain() {
+        AtomicInteger opened = new AtomicInteger();
+        Source source = new Source() {
+            @Override
+            public Path getPath() {
+                return null;
+            }
+
+            @Override
+            public InputStream openStream() {
+                opened.incrementAndGet();
+                return new FilterInputStream(
+                        new ByteArrayInputStream(TABLES_DEFINED_AGAIN.getBytes(StandardCharsets.UTF_8))) {
+                    @Override
+                    public boolean markSupported() {
+                        return false;
+                    }
+                };
+            }
+
+            @Override
+            public String getLocation() {
+                return "pom.toml";
+            }
+
+            @Override
+            public Source resolve(String relative) {
+                return null;
+            }
+        };
+        Model model = new MasonParser().parse(source, Map.of(MasonParser.FORMAT, "toml"));
+        assertEquals("out", model.getBuild().getDirectory());
+        assertEquals("1", model.getProperties().get("a"));
+        assertEquals(2, opened.get());
+    }
+}
@@ -0,0 +1,14 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+def perf = new GroovyShell().parse(new File(itsDirectory, 'perf-reactor.groovy'))
+perf.generate(new File(basedir, 'xml'), 'xml', masonVersion)
+perf.generate(new File(basedir, 'json'), 'json', masonVersion)
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Guillaume Nodet
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at:
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+// Shared by the perf-* ITs: their prebuild.groovy generates the same multi-module reactor as XML
+// (the baseline) and in the format under test, invoker.properties runs `validate` on both, and
+// their verify.groovy compares the two build times read from build.log.
+
+import groovy.transform.Field
+
+@Field static final int MODULES = 200
+@Field static final int DEPENDENCIES = 20
+@Field static final int PROPERTIES = 50
+@Field static final int CONFIGURATION_DEPTH = 6
+
+/**
+ * Writes the reactor in dir, as XML or as one of the Mason formats, with the Mason extension enabled.
+ */
+void generate(File dir, String format, String masonVersion) {
+    new File(dir, '.mvn').mkdirs()
+    new File(dir, '.mvn/extensions.xml').text = """<?xml version="1.0" encoding="UTF-8"?>
+<extensions xmlns="http://maven.apache.org/EXTENSIONS/1.2.0">
+    <extension>
+        <groupId>eu.maveniverse.maven.mason</groupId>
+        <artifactId>mason</artifactId>
+        <version>${masonVersion}</version>
+    </extension>
+</extensions>
+"""
+    new File(dir, "pom.${format}").text = write(rootPom(), format)
+    for (int i = 0; i < MODULES; i++) {
+        File module = new File(dir, "module-${i}")
+        module.mkdirs()
+        new File(module, "pom.${format}").text = write(modulePom(i), format)
+    }
+}
+
+Map rootPom() {
+    def properties = [:]
+    for (int i = 0; i < DEPENDENCIES; i++) {
+        properties["lib${i}.version".toString()] = "1.${i}.0".toString()
+    }
+    addProperties(properties, 'root')
+    def managed = (0..<DEPENDENCIES).collect { [groupId: 'org.example.lib', artifactId: "lib-${it}".toString(), version: "\${lib${it}.version}".toString()] }
+    return [
+        modelVersion: '4.0.0',
+        groupId: 'org.example.perf',
+        artifactId: 'reactor',
+        version: '1.0.0-SNAPSHOT',
+        packaging: 'pom',
+        properties: properties,
+        modules: (0..<MODULES).collect { "module-${it}".toString() },
+        dependencyManagement: [dependencies: managed],
+    ]
+}
+
+Map modulePom(int index) {
+    def properties = [:]
+    addProperties(properties, "module-${index}")
+    def dependencies = []
+    for (int i = 0; i < DEPENDENCIES; i++) {
+        if (i < index && i % 2 == 0) {
+            dependencies << [groupId: 'org.example.perf', artifactId: "module-${index - 1 - i}".toString(), version: '${project.version}']
+        } else {
+            dependencies << [groupId: 'org.example.lib', artifactId: "lib-${(index * 31 + i) % DEPENDENCIES}".toString()]
+        }
+    }
+    // managed plugins are parsed like any other but never resolved, so validate stays offline
+    def plugins = (0..<3).collect { [
+        groupId: 'org.example.plugins',
+        artifactId: "plugin-${it}-maven-plugin".toString(),
+        version: '1.0.0',
+        configuration: configuration(index, 0),
+    ] }
+    return [
+        modelVersion: '4.0.0',
+        parent: [groupId: 'org.example.perf', artifactId: 'reactor', version: '1.0.0-SNAPSHOT'],
+        artifactId: "module-${index}".toString(),
+        properties: properties,
+        dependencies: dependencies,
+        build: [pluginManagement: [plugins: plugins]],
+    ]
+}
+
+void addProperties(Map properties, String prefix) {
+    for (int i = 0; i < PROPERTIES; i++) {
+        properties["${prefix}.prop${i}".toString()] = (i % 2 == 1 ? "\${${prefix}.prop${i - 1}}/value-${i}" : "value-${i}").toString()
+    }
+}
+
+Map configuration(int seed, int depth) {
+    def level = [:]
+    (0..<3).each { level["value${it}".toString()] = "v${seed}-${depth}-${it}".toString() }
+    if (depth + 1 < CONFIGURATION_DEPTH) {
+        level.items = (0..<3).collect { "item-${depth}-${it}".toString() }
+        level.nested = configuration(seed, depth + 1)
+    }
+    return level
+}
+
+String write(Map pom, String format) {
+    StringBuilder sb = new StringBuilder()
+    switch (format) {
+        case 'xml':
+            sb << '<?xml version="1.0" encoding="UTF-8"?>\n<project xmlns="http://maven.apache.org/POM/4.0.0">\n'
+            pom.each { k, v -> xml(sb, k, v, 1) }
+            sb << '</project>\n'
+            break
+        case 'json':
+        case 'hocon':
+            // JSON is valid HOCON; the HOCON variant drops the commas between fields
+            sb << json(pom, 0, format == 'hocon' ? '\n' : ',\n') << '\n'
+            break
+        case 'yaml':
+            yaml(sb, pom, 0)
+            break
+        case 'toml':
+            toml(sb, pom, '')
+            break
+        default:
+            throw new IllegalArgumentException("Unknown format ${format}")
+    }
+    return sb.toString()
+}
+
+void xml(StringBuilder sb, String name, Object value, int indent) {
+    String pad = '  ' * indent
+    if (value instanceof Map) {
+        sb << pad << "<${name}>\n"
+        value.each { k, v -> xml(sb, k, v, indent + 1) }
+        sb << pad << "</${name}>\n"
+    } else if (value instanceof List) {
+        String item = name.endsWith('ies') ? name[0..-4] + 'y' : name.endsWith('s') ? name[0..-2] : name
+        sb << pad << "<${name}>\n"
+        value.each { xml(sb, item, it, indent + 1) }
+        sb << pad << "</${name}>\n"
+    } else {
+        sb << pad << "<${name}>" << value.toString().replace('&', '&amp;').replace('<', '&lt;') << "</${name}>\n"
+    }
+}
+
+String quote(Object value) {
+    return '"' + value.toString().replace('\\', '\\\\').replace('"', '\\"') + '"'
+}
+
+String json(Object value, int indent, String separator) {
+    String pad = '  ' * (indent + 1)
+    if (value instanceof Map) {
+        return '{\n' + value.collect { k, v -> pad + quote(k) + ': ' + json(v, indent + 1, separator) }.join(separator) + '\n' + '  ' * indent + '}'
+    } else if (value instanceof List) {
+        return '[\n' + value.collect { pad + json(it, indent + 1, separator) }.join(',\n') + '\n' + '  ' * indent + ']'
+    }
+    return quote(value)
+}
+
+void yaml(StringBuilder sb, Map map, int indent) {
+    String pad = '  ' * indent
+    map.each { k, v ->
+        sb << pad << quote(k) << ':'
+        if (v instanceof Map) {
+            sb << '\n'
+            yaml(sb, v, indent + 1)
+        } else if (v instanceof List) {
+            sb << '\n'
+            v.each { item ->
+                if (item instanceof Map) {
+                    StringBuilder nested = new StringBuilder()
+                    yaml(nested, item, indent + 1)
+                    sb << pad << '- ' << nested.substring(pad.length() + 2)
+                } else {
+                    sb << pad << '- ' << quote(item) << '\n'
+                }
+            }
+        } else {
+            sb << ' ' << quote(v) << '\n'
+        }
+    }
+}
+
+void toml(StringBuilder sb, Map map, String path) {
+    // plain key/value pairs must come before the sub-tables
+    map.each { k, v ->
+        if (!(v instanceof Map) && !isTableArray(v)) {
+            sb << quote(k) << ' = ' << (v instanceof List ? '[' + v.collect { quote(it) }.join(', ') + ']' : quote(v)) << '\n'
+        }
+    }
+    map.each { k, v ->
+        String key = (path ? path + '.' : '') + quote(k)
+        if (v instanceof Map) {
+            sb << '\n[' << key << ']\n'
+            toml(sb, v, key)
+        } else if (isTableArray(v)) {
+            v.each { item ->
+                sb << '\n[[' << key << ']]\n'
+                toml(sb, item, key)
+            }
+        }
+    }
+}
+
+boolean isTableArray(Object value) {
+    return value instanceof List && !value.isEmpty() && value[0] instanceof Map
+}
+
+/**
+ * Reads the total time of the XML and format builds from build.log, records them in perf.properties
+ * and checks that the format build stays within the tolerance of the XML one.
+ */
+void verify(File basedir, String format, String tolerance) {
+    File buildLog = new File(basedir, 'build.log')
+    assert buildLog.exists()
+    def times = []
+    buildLog.eachLine { line ->
+        def m = line =~ /Total time:\s+(?:(\d+):(\d+) min|([\d.,]+) s)/
+        if (m.find()) {
+            times << (m.group(3) != null ? Double.parseDouble(m.group(3).replace(',', '.'))
+                    : Integer.parseInt(m.group(1)) * 60 + Integer.parseInt(m.group(2)))
+        }
+    }
+    assert times.size() == 2 : "Expected the total time of the XML and ${format} builds in build.log, found ${times}"
+    double xml = times[0]
+    double actual = times[1]
+    double factor = Double.parseDouble(tolerance ?: '2.0')
+    double budget = xml * factor + 2.0
+
+    def results = new Properties()
+    results.setProperty('format', format)
+    results.setProperty('modules', String.valueOf(MODULES + 1))
+    results.setProperty('xml.seconds', String.valueOf(xml))
+    results.setProperty("${format}.seconds".toString(), String.valueOf(actual))
+    results.setProperty('ratio', String.format(Locale.ROOT, '%.2f', actual / xml))
+    new File(basedir, 'perf.properties').withWriter { results.store(it, "validate on ${MODULES + 1} projects") }
+    println "[perf] ${format}: ${actual} s, xml: ${xml} s, budget: ${budget} s"
+
+    assert actual <= budget : "${format} build took ${actual} s, more than ${factor}x the XML build (${xml} s) + 2 s"
+}